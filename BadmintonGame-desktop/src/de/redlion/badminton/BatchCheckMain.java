@@ -0,0 +1,55 @@
+package de.redlion.badminton;
+
+import de.redlion.badminton.simulation.BatchSimulation;
+
+/**
+ * Checks that the batch simulation doesn't depend on how a run is sliced or
+ * threaded: one run of all ticks on one thread has to end with the same
+ * scores as one run per tick on two threads. Exits with 1 if any match
+ * differs or if no match scored at all, since equal 0:0 results prove nothing.
+ * Arguments: [matches] [seconds of game time per match] [seed]
+ */
+public class BatchCheckMain {
+	public static void main(String[] args) {
+		int matches = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		float seconds = args.length > 1 ? Float.parseFloat(args[1]) : 60;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		float delta = 1.0f / 60;
+		int ticks = (int) (seconds / delta);
+
+		BatchSimulation whole = new BatchSimulation(matches, seed, 1);
+		whole.run(ticks, delta);
+		whole.dispose();
+
+		BatchSimulation sliced = new BatchSimulation(matches, seed, 2);
+		for(int tick = 0; tick < ticks; tick++) {
+			sliced.run(1, delta);
+		}
+		sliced.dispose();
+
+		int scoring = 0;
+		int different = 0;
+		long points = 0;
+		for(int i = 0; i < matches; i++) {
+			int bottom = whole.getPlayerScore(i);
+			int top = whole.getOpponentScore(i);
+			points += bottom + top;
+			if(bottom + top > 0)
+				scoring++;
+			if(bottom != sliced.getPlayerScore(i) || top != sliced.getOpponentScore(i)) {
+				if(different < 10)
+					System.out.println("match " + i + ": " + bottom + ":" + top + " in one run, "
+							+ sliced.getPlayerScore(i) + ":" + sliced.getOpponentScore(i) + " in " + ticks + " runs");
+				different++;
+			}
+		}
+
+		System.out.println(matches + " matches, " + scoring + " scored, " + points + " points, " + different + " differ");
+		if(different > 0 || scoring == 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+}
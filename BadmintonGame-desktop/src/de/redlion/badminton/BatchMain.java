@@ -0,0 +1,31 @@
+package de.redlion.badminton;
+
+import de.redlion.badminton.simulation.BatchSimulation;
+
+/**
+ * Runs AI vs AI matches headless and prints the throughput.
+ * Arguments: [matches] [seconds of game time per match] [seed]
+ */
+public class BatchMain {
+	public static void main(String[] args) {
+		int matches = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		float seconds = args.length > 1 ? Float.parseFloat(args[1]) : 60;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		float delta = 1.0f / 60;
+		BatchSimulation batch = new BatchSimulation(matches, seed);
+		batch.run((int) (seconds / delta), delta);
+		batch.dispose();
+
+		long bottom = 0;
+		long top = 0;
+		for(int i = 0; i < matches; i++) {
+			bottom += batch.getPlayerScore(i);
+			top += batch.getOpponentScore(i);
+		}
+
+		System.out.println(matches + " matches, " + batch.rallies + " rallies in " + batch.seconds + "s");
+		System.out.println("points bottom: " + bottom + " top: " + top);
+		System.out.println("rallies per second per core: " + batch.ralliesPerSecondPerCore());
+	}
+}
@@ -0,0 +1,134 @@
+package de.redlion.badminton;
+
+/**
+ * Checks that momentum and friction don't depend on the tick rate. First
+ * Player.decay and Player.travel are compared with the per tick factors they
+ * replace and split steps are compared with whole ones. Then a scripted run of
+ * moving, sliding and aiming is played through Player.update at 30, 60, 120 and
+ * 240 Hz and the positions every 1/30s are compared with the 240 Hz run. The
+ * pushes while a key is held are still stepped per update, so the runs agree
+ * within TOLERANCE rather than exactly. Ends with the cost of an update.
+ * Exits with 1 if any check fails.
+ * Arguments: [benchmark seconds of game time]
+ */
+public class DampingCheckMain {
+
+	static final int[] RATES = { 30, 60, 120, 240 };
+	static final int SAMPLE_RATE = 30;
+
+	//units a position may be off from the 240 Hz run
+	static final float TOLERANCE = 0.05f;
+	//relative error allowed for the closed forms of decay and travel in float
+	static final float EPSILON = 1e-5f;
+
+	//the script: moving state, aiming direction while in the AIMING state, then length in 1/30s
+	static final Player.STATE[] STATES = {
+		Player.STATE.RIGHT, Player.STATE.IDLE, Player.STATE.UPLEFT, Player.STATE.IDLE,
+		Player.STATE.AIMING, Player.STATE.AIMING, Player.STATE.DOWN, Player.STATE.IDLE
+	};
+	static final Player.AIMING[] AIMINGS = {
+		Player.AIMING.IDLE, Player.AIMING.IDLE, Player.AIMING.IDLE, Player.AIMING.IDLE,
+		Player.AIMING.LEFT, Player.AIMING.IDLE, Player.AIMING.IDLE, Player.AIMING.IDLE
+	};
+	static final int[] SAMPLES = { 8, 15, 6, 9, 15, 15, 6, 30 };
+
+	public static void main(String[] args) {
+		float benchmarkSeconds = args.length > 0 ? Float.parseFloat(args[0]) : 10000;
+
+		boolean failed = false;
+		float[] factors = { Player.MOMENTUM, Player.FRICTION };
+		for(float factor : factors) {
+			float worst = 0;
+			//whole ticks against the factor applied once per tick
+			float velocity = 1;
+			float distance = 0;
+			for(int n = 1; n <= 120; n++) {
+				velocity *= factor;
+				distance += velocity;
+				worst = Math.max(worst, error(Player.decay(factor, n), velocity));
+				worst = Math.max(worst, error(Player.travel(factor, n), distance));
+			}
+			//a step split in two against the whole step
+			for(int a = 0; a <= 64; a++) {
+				for(int b = 0; b <= 64; b++) {
+					float first = a / 16f;
+					float second = b / 16f;
+					worst = Math.max(worst, error(Player.decay(factor, first) * Player.decay(factor, second),
+							Player.decay(factor, first + second)));
+					worst = Math.max(worst, error(Player.travel(factor, first) + Player.decay(factor, first) * Player.travel(factor, second),
+							Player.travel(factor, first + second)));
+				}
+			}
+			System.out.println("factor " + factor + ": closed forms off by " + worst + " at most");
+			failed |= worst > EPSILON;
+		}
+
+		float[][] reference = run(RATES[RATES.length - 1]);
+		for(int rate : RATES) {
+			float[][] positions = run(rate);
+			float worst = 0;
+			for(int i = 0; i < positions.length; i++) {
+				worst = Math.max(worst, Math.max(Math.abs(positions[i][0] - reference[i][0]), Math.abs(positions[i][1] - reference[i][1])));
+			}
+			float[] end = positions[positions.length - 1];
+			System.out.println(rate + " Hz: ends at " + end[0] + ", " + end[1] + ", off by " + worst + " at most");
+			failed |= worst > TOLERANCE;
+		}
+
+		for(int round = 0; round < 3; round++) {
+			for(int rate : RATES) {
+				MatchContext match = new MatchContext();
+				Player player = new Player(Player.SIDE.BOTTOM, false);
+				float delta = 1.0f / rate;
+				int updates = (int) (benchmarkSeconds * rate);
+				long start = System.nanoTime();
+				for(int i = 0; i < updates; i++) {
+					//loops over the script, each part for 4/30s
+					int step = (i / (rate / SAMPLE_RATE * 4)) % STATES.length;
+					player.state = STATES[step];
+					player.aiming = AIMINGS[step];
+					player.update(match, delta);
+				}
+				long nanos = System.nanoTime() - start;
+				System.out.println(rate + " Hz: " + nanos / (float) updates + "ns per update, "
+						+ nanos / benchmarkSeconds / 1000 + "us per second of game time");
+			}
+		}
+
+		if(failed) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	/** x and z of a player running the script at the given rate, after every 1/30s */
+	static float[][] run(int rate) {
+		MatchContext match = new MatchContext();
+		Player player = new Player(Player.SIDE.BOTTOM, false);
+		player.position.set(0, 0, 7);
+		float delta = 1.0f / rate;
+
+		int total = 0;
+		for(int samples : SAMPLES) {
+			total += samples;
+		}
+		float[][] positions = new float[total][];
+		int sample = 0;
+		for(int step = 0; step < STATES.length; step++) {
+			for(int i = 0; i < SAMPLES[step]; i++) {
+				for(int update = 0; update < rate / SAMPLE_RATE; update++) {
+					player.state = STATES[step];
+					player.aiming = AIMINGS[step];
+					player.update(match, delta);
+				}
+				positions[sample++] = new float[] { player.position.x, player.position.z };
+			}
+		}
+		return positions;
+	}
+
+	static float error(float value, float expected) {
+		return Math.abs(value - expected) / Math.max(1, Math.abs(expected));
+	}
+}
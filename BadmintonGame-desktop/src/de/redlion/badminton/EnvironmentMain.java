@@ -0,0 +1,42 @@
+package de.redlion.badminton;
+
+import de.redlion.badminton.simulation.VectorEnvironment;
+
+/**
+ * Steps the training environment with random actions and prints the throughput.
+ * Arguments: [environments] [steps] [seed] [threads]
+ */
+public class EnvironmentMain {
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+		int steps = args.length > 1 ? Integer.parseInt(args[1]) : 3600;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+		VectorEnvironment environment = new VectorEnvironment(size, threads);
+		environment.reset(seed);
+
+		MatchRandom random = new MatchRandom(seed);
+		int[] actions = new int[size];
+		long episodes = 0;
+		float reward = 0;
+		long start = System.nanoTime();
+		for(int step = 0; step < steps; step++) {
+			for(int i = 0; i < size; i++) {
+				actions[i] = random.nextInt(VectorEnvironment.ACTIONS);
+			}
+			environment.step(actions);
+			for(int i = 0; i < size; i++) {
+				reward += environment.rewards[i];
+				if(environment.dones[i])
+					episodes++;
+			}
+		}
+		float seconds = (System.nanoTime() - start) / 1000000000f;
+		environment.dispose();
+
+		System.out.println((long) size * steps + " steps in " + seconds + "s on " + threads + " threads, " + episodes + " episodes done");
+		System.out.println("steps per second: " + (long) size * steps / seconds + ", per thread: " + (long) size * steps / seconds / threads);
+		System.out.println("total reward of the random agents: " + reward);
+	}
+}
@@ -0,0 +1,345 @@
+package de.redlion.badminton;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+
+/**
+ * Checks Player.update: it has to allocate nothing and move exactly like the
+ * update that allocated fresh vectors for directions, comparisons and pushes,
+ * which ReferencePlayer keeps with today's damping. First random sequences of
+ * moving states and aiming directions at random tick rates run through both,
+ * comparing every field bit for bit after each update. Then every STATE and
+ * AIMING is held in turn while counting the bytes allocated inside
+ * Player.update. Counting needs a HotSpot JVM. Exits with 1 if any update
+ * differs or allocates.
+ * Arguments: [random sequences] [updates per state and aiming] [seed]
+ */
+public class PlayerAllocationMain {
+
+	static final Player.STATE[] STATES = Player.STATE.values();
+	static final Player.AIMING[] AIMINGS = Player.AIMING.values();
+	static final int[] RATES = { 30, 60, 120, 240 };
+
+	public static void main(String[] args) {
+		int sequences = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int updates = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		MatchRandom random = new MatchRandom(seed);
+		MatchContext match = new MatchContext();
+
+		long compared = 0;
+		long different = 0;
+		for(int sequence = 0; sequence < sequences; sequence++) {
+			Player.SIDE side = random.nextInt(0, 1) == 0 ? Player.SIDE.BOTTOM : Player.SIDE.TOP;
+			Player player = new Player(side, false);
+			Player reference = new ReferencePlayer(side, false);
+			float delta = 1.0f / RATES[random.nextInt(0, RATES.length - 1)];
+			for(int part = 0; part < 100; part++) {
+				Player.STATE state = STATES[random.nextInt(0, STATES.length - 1)];
+				Player.AIMING aiming = AIMINGS[random.nextInt(0, AIMINGS.length - 1)];
+				int length = random.nextInt(1, 60);
+				for(int i = 0; i < length; i++) {
+					player.state = reference.state = state;
+					player.aiming = reference.aiming = aiming;
+					player.update(match, delta);
+					reference.update(match, delta);
+					compared++;
+					if(!same(player, reference)) {
+						if(different < 10)
+							System.out.println("sequence " + sequence + ", " + state + " " + aiming + ": " + player + " instead of " + reference);
+						different++;
+						//carry on from where the reference is
+						player.position.set(reference.position);
+						player.velocity.set(reference.velocity);
+						player.direction.set(reference.direction);
+						player.diagonalTime = reference.diagonalTime;
+						player.moveTime = reference.moveTime;
+						player.aimTime = reference.aimTime;
+					}
+				}
+			}
+		}
+		System.out.println(compared + " updates compared with the allocating update, " + different + " differ");
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if(!threads.isThreadAllocatedMemorySupported()) {
+			System.out.println("FAILED: this JVM can't count allocations");
+			System.exit(1);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+		long thread = Thread.currentThread().getId();
+
+		Player player = new Player(Player.SIDE.BOTTOM, false);
+		//the first round warms up, the JVM allocates when code runs for the first time
+		long bytes = 0;
+		for(int round = 0; round < 2; round++) {
+			bytes = 0;
+			for(Player.STATE state : STATES) {
+				for(Player.AIMING aiming : AIMINGS) {
+					for(int i = 0; i < updates; i++) {
+						player.state = state;
+						player.aiming = aiming;
+						//alternate the direction so the diagonal and sliding branches get their turn
+						if(i % 40 == 0)
+							player.state = STATES[(state.ordinal() + 1) % STATES.length];
+						long before = threads.getThreadAllocatedBytes(thread);
+						player.update(match, 1.0f / 60);
+						bytes += threads.getThreadAllocatedBytes(thread) - before;
+					}
+				}
+			}
+		}
+		System.out.println(STATES.length * AIMINGS.length * updates + " updates over every state and aiming, " + bytes + " bytes allocated");
+
+		if(different > 0 || bytes > 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	static boolean same(Player a, Player b) {
+		return same(a.position, b.position) && same(a.velocity, b.velocity) && same(a.direction, b.direction)
+				&& same(a.diagonalTime, b.diagonalTime) && same(a.moveTime, b.moveTime) && same(a.aimTime, b.aimTime);
+	}
+
+	static boolean same(Vector3 a, Vector3 b) {
+		return same(a.x, b.x) && same(a.y, b.y) && same(a.z, b.z);
+	}
+
+	static boolean same(float a, float b) {
+		return Float.floatToIntBits(a) == Float.floatToIntBits(b);
+	}
+
+	/** Player.update the way it was written before it stopped allocating, with a new vector for every direction */
+	static class ReferencePlayer extends Player {
+
+		ReferencePlayer(SIDE side, boolean service) {
+			super(side, service);
+		}
+
+		@Override
+		public void update(MatchContext match, float delta) {
+			previousPosition.set(position);
+		
+			keyframeAnimTime += delta * 1f;
+		
+			BoundingBox borders = match.borders;
+		
+			float ticks = delta * REFERENCE_RATE;
+		
+			if(state != STATE.AIMING) {
+			
+				if (state == STATE.LEFT) {
+					position.x = position.x - delta * SPEED + velocity.x * ticks;
+					position.z += velocity.z * ticks;
+					if(diagonalTime > 1.0f && (direction.idt(new Vector3(-1, 1, 0)) || direction.idt(new Vector3(-1, -1, 0)))) {
+						direction = new Vector3(-1, 0, 0);
+						diagonalTime = -1;
+					}
+					else if (!direction.idt(new Vector3(-1, 1, 0)) && !direction.idt(new Vector3(-1, -1, 0)))
+						direction = new Vector3(-1, 0, 0);
+				}
+				if (state == STATE.RIGHT) {
+					position.x = position.x + delta * SPEED + velocity.x * ticks;
+					position.z += velocity.z * ticks;
+					if(diagonalTime > 1.0f && (direction.idt(new Vector3(1, 1, 0)) || direction.idt(new Vector3(1, -1, 0)))) {
+						direction = new Vector3(1, 0, 0);
+						diagonalTime = -1;
+					}
+					else if(!direction.idt(new Vector3(1, 1, 0)) && !direction.idt(new Vector3(1, -1, 0)))
+						direction = new Vector3(1, 0, 0);
+				}
+				if (state == STATE.UP) {
+					position.x += velocity.x * ticks;
+					position.z = position.z - delta * SPEED * 2 + velocity.z * ticks;
+					if(diagonalTime > 1.0f && (direction.idt(new Vector3(-1, -1, 0)) || direction.idt(new Vector3(1, -1, 0)))) {
+						direction = new Vector3(0, 0, -1);
+						diagonalTime = -1;
+					}
+					else if(!direction.idt(new Vector3(-1, -1, 0)) && !direction.idt(new Vector3(1, -1, 0))) {
+						direction = new Vector3(0, 0, -1);
+					}
+				}
+				if (state == STATE.DOWN) {
+					position.x += velocity.x * ticks;
+					position.z = position.z + delta * SPEED * 2 + velocity.z * ticks;
+					if(diagonalTime > 1.0f && (direction.idt(new Vector3(-1, 1, 0)) || direction.idt(new Vector3(1, 1, 0)))) {
+						direction = new Vector3(0, 0, 1);
+						diagonalTime = -1;
+					}
+					else if(!direction.idt(new Vector3(-1, 1, 0)) && !direction.idt(new Vector3(1, 1, 0)))
+						direction = new Vector3(0, 0, 1);
+				}
+				if (state == STATE.DOWNLEFT) {
+					position.x = position.x - delta * SPEED + velocity.x * ticks;
+					position.z = position.z + delta * SPEED*2 + velocity.z * ticks;
+					direction = new Vector3(-1, 0, 1);
+					diagonalTime = 0;
+				}
+				if (state == STATE.UPLEFT) {
+					position.x = position.x - delta * SPEED + velocity.x * ticks;
+					position.z = position.z - delta * SPEED*2 + velocity.z * ticks;
+					direction = new Vector3(-1, 0, -1);
+					diagonalTime = 0;
+				}
+				if (state == STATE.DOWNRIGHT) {
+					position.x = position.x + delta * SPEED + velocity.x * ticks;
+					position.z = position.z + delta * SPEED*2 + velocity.z * ticks;
+					direction = new Vector3(1, 0, 1);
+					diagonalTime = 0;
+				}
+				if (state == STATE.UPRIGHT) {
+					position.x = position.x + delta * SPEED + velocity.x * ticks;
+					position.z = position.z - delta * SPEED*2 + velocity.z * ticks;
+					direction = new Vector3(1, 0, -1);
+					diagonalTime = 0;
+				}
+				if (state == STATE.IDLE) {
+					aimTime=1;
+				
+					position.x += velocity.x * travel(MOMENTUM, ticks);
+					position.z += velocity.z * travel(MOMENTUM, ticks);
+					velocity.mul(decay(MOMENTUM, ticks));
+				
+					if(diagonalTime > 0.0f)
+						diagonalTime -= delta / 2;
+					else
+						diagonalTime = 0;
+				
+					if(Math.abs(velocity.x) < 0.01f && Math.abs(velocity.z) < 0.01f) {
+						direction = new Vector3(0, 0, 0);
+						velocity = new Vector3(0, 0, 0);
+						moveTime = 0.0f;
+					}
+				}
+				else {
+					moveTime += delta;
+					velocity.add(direction.cpy().mul(delta * moveTime * 0.5f));
+					if(direction.x == 0 && state != STATE.DOWNLEFT && state != STATE.DOWNRIGHT && state != STATE.UPRIGHT && state != STATE.UPLEFT)
+						velocity.x *= decay(FRICTION, ticks);
+					if(direction.z == 0 && state != STATE.DOWNLEFT && state != STATE.DOWNRIGHT && state != STATE.UPRIGHT && state != STATE.UPLEFT)
+						velocity.z *= decay(FRICTION, ticks);
+					if(Math.abs(velocity.x) > 0.05f)
+						velocity.x = Math.signum(velocity.x) * 0.05f;
+					if(Math.abs(velocity.y) > 0.1f)
+						velocity.z = Math.signum(velocity.y) * 0.1f;
+				}
+				if(diagonalTime > 1.0f)
+					diagonalTime = -1;
+				if(moveTime > 0.5f)
+					moveTime = 0.5f;
+			
+			}
+			if(state == STATE.AIMING) {
+				aimTime += delta / 3;
+			
+				//the velocity slows down over the step, so it covers less than velocity * ticks
+				float step = aiming != AIMING.IDLE ? travel(FRICTION, ticks) : ticks;
+			
+				if(diagonalTime > 0.0f)
+					diagonalTime -= delta;
+				else
+					diagonalTime = 0;
+			
+				if (aiming == AIMING.LEFT) {
+					direction = new Vector3(-1, 0, 0);
+					position.x = position.x - delta * 0.5f + velocity.x * step;
+					position.z += velocity.z * step;
+				}
+				if (aiming == AIMING.RIGHT) {
+					direction = new Vector3(1, 0, 0);
+					position.x = position.x + delta * 0.5f + velocity.x * step;
+					position.z += velocity.z * step;
+				}
+				if (aiming == AIMING.UP) {
+					direction = new Vector3(0, -1, 0);
+					position.z += velocity.x * step;
+					position.z = position.z - delta * 0.5f + velocity.z * step;
+				}
+				if (aiming == AIMING.DOWN) {
+					direction = new Vector3(0, 1, 0);
+					position.z += velocity.x * step;
+					position.z = position.z + delta * 0.5f + velocity.z * step;
+				}
+				if (aiming == AIMING.DOWNLEFT) {
+					direction = new Vector3(-1, 1, 0);
+					position.x = position.x - delta * 0.4375f + velocity.x * step;
+					position.z = position.z + delta * 0.4375f + velocity.z * step;
+				}
+				if (aiming == AIMING.UPLEFT) {
+					direction = new Vector3(-1, -1, 0);
+					position.x = position.x - delta * 0.4375f + velocity.x * step;
+					position.z = position.z - delta * 0.4375f + velocity.z * step;
+				}
+				if (aiming == AIMING.DOWNRIGHT) {
+					direction = new Vector3(1, 1, 0);
+					position.x = position.x + delta * 0.4375f + velocity.x * step;
+					position.z = position.z + delta * 0.4375f + velocity.z * step;
+				}
+				if (aiming == AIMING.UPRIGHT) {
+					direction = new Vector3(1, -1, 0);
+					position.x = position.x + delta * 0.4375f + velocity.x * step;
+					position.z = position.z - delta * 0.4375f + velocity.z * step;
+				}
+			
+				if(aiming != AIMING.IDLE)
+					velocity.mul(decay(FRICTION, ticks));
+			
+				if(aiming == AIMING.IDLE) {
+				
+					position.x += velocity.x * travel(MOMENTUM, ticks);
+					position.z += velocity.z * travel(MOMENTUM, ticks);
+					velocity.mul(decay(MOMENTUM, ticks));
+				
+					if(Math.abs(velocity.x) < 0.01f && Math.abs(velocity.z) < 0.01f) {
+						direction = new Vector3(0, 0, 0);
+						velocity = new Vector3(0, 0, 0);
+						moveTime = 0.0f;
+					}
+				}
+			
+				if(Math.abs(velocity.x) < 0.01f && Math.abs(velocity.z) < 0.01f) {
+					direction = new Vector3(0, 0, 0);
+					velocity = new Vector3(0, 0, 0);
+					moveTime = 0.0f;
+				}	
+			
+			}
+			else if(state != STATE.IDLE && state != STATE.DOWNLEFT && state != STATE.UPRIGHT && state != STATE.UPLEFT && state != STATE.DOWNRIGHT) {
+				if(diagonalTime != -1 )
+					diagonalTime += delta * 14;
+			}
+		
+			//Out of bounds?
+			if (side == SIDE.BOTTOM) {
+				if (position.z < 1.5f) {
+					position.z = 1.5f;
+				}
+
+				if (position.z > borders.max.z - 1.5f) {
+					position.z = borders.max.z - 1.5f;
+				}
+			}
+			if (side == SIDE.TOP) {
+				if (position.z > -1.5f) {
+					position.z = -1.5f;
+				}
+
+				if (position.z < borders.min.z + 1.5f) {
+					position.z = borders.min.z + 1.5f;
+				}
+			}
+			if (position.x > borders.max.x - 1.5f) {
+				position.x = borders.max.x - 1.5f;
+			}
+			if (position.x < borders.min.x + 1.5f) {
+				position.x = borders.min.x + 1.5f;
+			}
+
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package de.redlion.badminton;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.redlion.badminton.opponent.PolicyTable;
+
+/**
+ * Builds the AI policy table offline.
+ * Writes the shipped tables as data/policy_<difficulty percent>.bin, see PolicyTable.assetName.
+ * Arguments: [output file] [samples per aim] [difficulty, share of searched situations] [seed]
+ */
+public class PolicyTableMain {
+	public static void main(String[] args) throws IOException {
+		File file = new File(args.length > 0 ? args[0] : "policy.bin");
+		int samples = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		float difficulty = args.length > 2 ? Float.parseFloat(args[2]) : 1;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+		long start = System.nanoTime();
+		byte[] table = PolicyTable.build(samples, difficulty, seed);
+		PolicyTable.write(file, table);
+
+		int[] aims = new int[Player.AIMING.values().length];
+		for(byte aim : table) {
+			aims[aim]++;
+		}
+		System.out.println(PolicyTable.SIZE + " situations in " + (System.nanoTime() - start) / 1000000000f + "s, written to " + file);
+		for(Player.AIMING aim : Player.AIMING.values()) {
+			if(aims[aim.ordinal()] > 0)
+				System.out.println(aim + ": " + aims[aim.ordinal()]);
+		}
+	}
+}
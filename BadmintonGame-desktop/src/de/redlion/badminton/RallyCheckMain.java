@@ -0,0 +1,83 @@
+package de.redlion.badminton;
+
+import de.redlion.badminton.simulation.AIMatchSimulation;
+import de.redlion.badminton.simulation.RallySimulator;
+
+/**
+ * Checks that the event driven RallySimulator gives the same score outcomes as
+ * the ticked AIMatchSimulation: every match is played ticked for the given game
+ * time, then again from the same seed with RallySimulator for as many points.
+ * Exits with 1 if the share of points the bottom side wins differs by more than
+ * TOLERANCE or if nothing scored. The rallies aren't the same one by one, the
+ * random numbers get drawn in a different order, so only the totals are compared.
+ * Arguments: [matches] [seconds of game time per match] [seed]
+ */
+public class RallyCheckMain {
+
+	//points won by the bottom side, as a share of all points
+	static final float TOLERANCE = 0.03f;
+
+	public static void main(String[] args) {
+		int matches = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		float seconds = args.length > 1 ? Float.parseFloat(args[1]) : 60;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		float delta = 1.0f / 60;
+		int ticks = (int) (seconds / delta);
+
+		MatchRandom seeds = new MatchRandom(seed);
+		long tickedBottom = 0;
+		long tickedHits = 0;
+		long eventBottom = 0;
+		long eventHits = 0;
+		long points = 0;
+		long tickedNanos = 0;
+		long eventNanos = 0;
+		for(int i = 0; i < matches; i++) {
+			long matchSeed = seeds.split().getSeed();
+
+			MatchContext ticked = new MatchContext();
+			ticked.newAIGame();
+			ticked.random = new MatchRandom(matchSeed);
+			AIMatchSimulation simulation = new AIMatchSimulation(ticked);
+			long start = System.nanoTime();
+			for(int tick = 0; tick < ticks; tick++) {
+				simulation.step(delta);
+			}
+			tickedNanos += System.nanoTime() - start;
+			int rallies = ticked.playerScore + ticked.opponentScore;
+
+			MatchContext events = new MatchContext();
+			events.newAIGame();
+			events.random = new MatchRandom(matchSeed);
+			RallySimulator rally = new RallySimulator(events, delta);
+			start = System.nanoTime();
+			rally.play(rallies);
+			eventNanos += System.nanoTime() - start;
+
+			points += rallies;
+			tickedBottom += ticked.playerScore;
+			tickedHits += ticked.birdie.flight;
+			eventBottom += events.playerScore;
+			eventHits += rally.hits;
+		}
+
+		if(points == 0) {
+			System.out.println("no points scored");
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		float tickedShare = tickedBottom / (float) points;
+		float eventShare = eventBottom / (float) points;
+		System.out.println(matches + " matches, " + points + " points");
+		System.out.println("ticked: bottom wins " + tickedShare + ", " + tickedHits / (float) points + " hits per point, "
+				+ tickedNanos / 1000000 + "ms");
+		System.out.println("events: bottom wins " + eventShare + ", " + eventHits / (float) points + " hits per point, "
+				+ eventNanos / 1000000 + "ms");
+		if(Math.abs(tickedShare - eventShare) > TOLERANCE) {
+			System.out.println("FAILED: the shares differ by more than " + TOLERANCE);
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+}
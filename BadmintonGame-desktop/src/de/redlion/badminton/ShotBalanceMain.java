@@ -0,0 +1,77 @@
+package de.redlion.badminton;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import de.redlion.badminton.simulation.ShotAnalysis;
+
+/**
+ * Hits simulated shots for every side and aim and writes the results as CSV:
+ * summary.csv with in/out ratios and win rates, and one landing heatmap per
+ * side and aim.
+ * Arguments: [shots per aim] [output directory] [seed] [heatmap cell size]
+ */
+public class ShotBalanceMain {
+	public static void main(String[] args) throws IOException {
+		long shots = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+		File directory = new File(args.length > 1 ? args[1] : "shot-balance");
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+		float cellSize = args.length > 3 ? Float.parseFloat(args[3]) : 0.5f;
+
+		ShotAnalysis analysis = new ShotAnalysis(cellSize);
+		analysis.run(shots, seed, Runtime.getRuntime().availableProcessors());
+
+		if(!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Can't create " + directory);
+
+		PrintWriter summary = new PrintWriter(new FileWriter(new File(directory, "summary.csv")));
+		try {
+			summary.println("side,aim,shots,in,out,net,in_ratio,win_rate");
+			for(Player.SIDE side : Player.SIDE.values()) {
+				for(Player.AIMING aim : Player.AIMING.values()) {
+					int s = side.ordinal();
+					int a = aim.ordinal();
+					summary.println(side + "," + aim + "," + analysis.shots[s][a] + "," + analysis.in[s][a] + ","
+							+ (analysis.shots[s][a] - analysis.in[s][a] - analysis.net[s][a]) + "," + analysis.net[s][a] + ","
+							+ analysis.inRatio(s, a) + "," + analysis.winRate(s, a));
+				}
+			}
+		} finally {
+			summary.close();
+		}
+
+		for(Player.SIDE side : Player.SIDE.values()) {
+			for(Player.AIMING aim : Player.AIMING.values()) {
+				writeHeatmap(analysis, side.ordinal(), aim.ordinal(),
+						new File(directory, "heatmap_" + side.name().toLowerCase() + "_" + aim.name().toLowerCase() + ".csv"));
+			}
+		}
+
+		System.out.println(shots * ShotAnalysis.SIDES * ShotAnalysis.AIMS + " shots in " + analysis.seconds + "s, written to " + directory);
+	}
+
+	/** one row per z cell, one column per x cell, the header holds the cell centers */
+	static void writeHeatmap(ShotAnalysis analysis, int side, int aim, File file) throws IOException {
+		PrintWriter out = new PrintWriter(new FileWriter(file));
+		try {
+			StringBuilder line = new StringBuilder("z\\x");
+			for(int x = 0; x < analysis.cellsX; x++) {
+				line.append(',').append(analysis.cellX(x));
+			}
+			out.println(line);
+			long[] cells = analysis.heatmap[side][aim];
+			for(int z = 0; z < analysis.cellsZ; z++) {
+				line.setLength(0);
+				line.append(analysis.cellZ(z));
+				for(int x = 0; x < analysis.cellsX; x++) {
+					line.append(',').append(cells[z * analysis.cellsX + x]);
+				}
+				out.println(line);
+			}
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package de.redlion.badminton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import de.redlion.badminton.opponent.AIOpponent;
+import de.redlion.badminton.opponent.PolicyTable;
+import de.redlion.badminton.opponent.ShotSearch;
+import de.redlion.badminton.simulation.Tournament;
+
+/**
+ * Round robin between the AI variants, headless and deterministic for a seed.
+ * Exits with 1 if nearly every match is a draw or the ratings didn't move,
+ * since such a run can't rank the variants.
+ * Arguments: [matches per pairing] [seed] [threads] [minutes of game time per match]
+ */
+public class TournamentMain {
+
+	//more draws than this and the matches don't get decided by the AI
+	static final float MAX_DRAW_SHARE = 0.9f;
+	//Elo points between the best and the worst variant below which the ranking is noise
+	static final float MIN_RATING_SPREAD = 1;
+
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		float minutes = args.length > 3 ? Float.parseFloat(args[3]) : 5;
+
+		Tournament tournament = new Tournament();
+		tournament.maxTicks = (int) (minutes * 60 / tournament.delta);
+
+		tournament.add(new Tournament.Entrant("random") {
+			@Override
+			public void prepare(AIOpponent ai) {
+			}
+		});
+		tournament.add(search("search-4", 4));
+		tournament.add(search("search-16", 16));
+		tournament.add(policy("policy", 1, seed));
+		tournament.add(policy("policy-half", 0.5f, seed));
+
+		tournament.run(games, seed, threads);
+
+		List<Tournament.Entrant> ranking = new ArrayList<Tournament.Entrant>(tournament.entrants);
+		Collections.sort(ranking, new Comparator<Tournament.Entrant>() {
+			@Override
+			public int compare(Tournament.Entrant a, Tournament.Entrant b) {
+				return Float.compare(b.rating, a.rating);
+			}
+		});
+
+		System.out.println("name,rating,wins,losses,draws,points_won,points_lost");
+		for(Tournament.Entrant entrant : ranking) {
+			System.out.println(entrant.name + "," + Math.round(entrant.rating) + "," + entrant.wins + "," + entrant.losses + ","
+					+ entrant.draws + "," + entrant.pointsWon + "," + entrant.pointsLost);
+		}
+		System.out.println(tournament.matches + " matches in " + tournament.seconds + "s, "
+				+ tournament.matchesPerSecond() + " matches per second");
+		System.out.println("average rally length: " + tournament.averageRallyLength() + " hits");
+		System.out.println(tournament.draws + " draws, " + tournament.timeouts + " of them timed out");
+
+		float spread = ranking.get(0).rating - ranking.get(ranking.size() - 1).rating;
+		if(tournament.drawShare() > MAX_DRAW_SHARE || spread < MIN_RATING_SPREAD) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	/** searches every shot up to the given depth, without a time limit so the results don't depend on the machine */
+	static Tournament.Entrant search(String name, final int depth) {
+		return new Tournament.Entrant(name) {
+			@Override
+			public void prepare(AIOpponent ai) {
+				ai.search = new ShotSearch();
+				ai.search.budget = 1000000000L;
+				ai.search.maxDepth = depth;
+			}
+		};
+	}
+
+	static Tournament.Entrant policy(String name, float difficulty, long seed) {
+		final PolicyTable table = PolicyTable.wrap(PolicyTable.build(16, difficulty, seed));
+		return new Tournament.Entrant(name) {
+			@Override
+			public void prepare(AIOpponent ai) {
+				ai.policy = table;
+			}
+		};
+	}
+}
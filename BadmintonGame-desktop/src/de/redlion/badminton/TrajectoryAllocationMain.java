@@ -0,0 +1,68 @@
+package de.redlion.badminton;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that moving the birdie along its flight curve doesn't allocate: counts
+ * the bytes this thread allocates inside Birdie.update over many ticks of
+ * rallies and exits with 1 if there are any. Hits happen between the counted
+ * ticks, and the warm up ticks aren't counted since the JVM allocates when code
+ * runs for the first time. Counting needs a HotSpot JVM, run with -Xint to also
+ * catch allocations the JIT would remove.
+ * Arguments: [ticks] [warm up ticks]
+ */
+public class TrajectoryAllocationMain {
+	public static void main(String[] args) {
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		int warmUp = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if(!threads.isThreadAllocatedMemorySupported()) {
+			System.out.println("FAILED: this JVM can't count allocations");
+			System.exit(1);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+		long thread = Thread.currentThread().getId();
+
+		MatchContext match = new MatchContext();
+		match.newAIGame();
+		float delta = 1.0f / 60;
+
+		tick(match, delta, threads, thread, warmUp);
+
+		//what reading the counter costs by itself, in case the JVM allocates for it
+		long overhead = 0;
+		for(int i = 0; i < ticks; i++) {
+			long before = threads.getThreadAllocatedBytes(thread);
+			overhead += threads.getThreadAllocatedBytes(thread) - before;
+		}
+
+		long bytes = tick(match, delta, threads, thread, ticks) - overhead;
+		System.out.println(ticks + " ticks, " + match.birdie.flight + " flights, " + bytes + " bytes allocated in Birdie.update");
+		if(bytes > 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	/** @return bytes allocated inside Birdie.update over the given ticks */
+	static long tick(MatchContext match, float delta, com.sun.management.ThreadMXBean threads, long thread, int ticks) {
+		Birdie birdie = match.birdie;
+		long bytes = 0;
+		for(int i = 0; i < ticks; i++) {
+			if(birdie.state == Birdie.STATE.HELD) {
+				birdie.hit(match, birdie.currentPosition.z > 0 ? match.player : match.opponent, false);
+			} else if(birdie.state == Birdie.STATE.HIT || birdie.state == Birdie.STATE.HITBYOPPONENT) {
+				//return it at the top of the curve now and then, so flights start from all heights
+				if(birdie.currentPosition.y > 3 && match.random.nextInt(0, 9) == 0)
+					birdie.hit(match, birdie.state == Birdie.STATE.HIT ? match.opponent : match.player, false);
+			}
+
+			long before = threads.getThreadAllocatedBytes(thread);
+			birdie.update(match, delta);
+			bytes += threads.getThreadAllocatedBytes(thread) - before;
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,99 @@
+package de.redlion.badminton;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Checks the batch sampling of Trajectory against its per point evaluation:
+ * positions() and tangents() have to give exactly what position() and
+ * tangent() give for every t of random curves. Then both are timed for a few
+ * batch sizes. Exits with 1 if any point differs.
+ * Arguments: [curves] [seed]
+ */
+public class TrajectoryBatchMain {
+
+	static final int[] COUNTS = { 16, 64, 256, 1024 };
+
+	public static void main(String[] args) {
+		int curves = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+		MatchRandom random = new MatchRandom(seed);
+		Trajectory[] trajectories = new Trajectory[curves];
+		for(int i = 0; i < curves; i++) {
+			trajectories[i] = new Trajectory();
+			trajectories[i].set(point(random), point(random), point(random), point(random));
+		}
+
+		int maxCount = COUNTS[COUNTS.length - 1];
+		float[] t = new float[maxCount];
+		float[] x = new float[maxCount];
+		float[] y = new float[maxCount];
+		float[] z = new float[maxCount];
+		Vector3 out = new Vector3();
+
+		long points = 0;
+		long different = 0;
+		for(int count : COUNTS) {
+			Trajectory.spread(t, count);
+			for(Trajectory trajectory : trajectories) {
+				trajectory.positions(t, count, x, y, z);
+				for(int i = 0; i < count; i++) {
+					trajectory.position(t[i], out);
+					if(out.x != x[i] || out.y != y[i] || out.z != z[i])
+						different++;
+				}
+				trajectory.tangents(t, count, x, y, z);
+				for(int i = 0; i < count; i++) {
+					trajectory.tangent(t[i], out);
+					if(out.x != x[i] || out.y != y[i] || out.z != z[i])
+						different++;
+				}
+				points += 2 * count;
+			}
+		}
+		System.out.println(points + " points, " + different + " differ");
+
+		for(int round = 0; round < 3; round++) {
+			for(int count : COUNTS) {
+				Trajectory.spread(t, count);
+				//the last points summed up, so the JIT can't drop the loops
+				float batchSum = 0;
+				float singleSum = 0;
+
+				long start = System.nanoTime();
+				for(Trajectory trajectory : trajectories) {
+					trajectory.positions(t, count, x, y, z);
+					batchSum += x[count - 1] + y[count - 1] + z[count - 1];
+				}
+				long batch = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for(Trajectory trajectory : trajectories) {
+					for(int i = 0; i < count; i++) {
+						trajectory.position(t[i], out);
+						x[i] = out.x;
+						y[i] = out.y;
+						z[i] = out.z;
+					}
+					singleSum += x[count - 1] + y[count - 1] + z[count - 1];
+				}
+				long single = System.nanoTime() - start;
+
+				float perPoint = 1f / curves / count;
+				System.out.println(count + " points per curve: positions() " + batch * perPoint + "ns per point, position() "
+						+ single * perPoint + "ns per point" + (batchSum == singleSum ? "" : ", sums differ"));
+			}
+		}
+
+		if(different > 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	/** random control point over the court */
+	static Vector3 point(MatchRandom random) {
+		return new Vector3(random.nextFloat() * 13 - 6.5f, random.nextFloat() * 12, random.nextFloat() * 28 - 14);
+	}
+}
@@ -0,0 +1,333 @@
+package de.redlion.badminton.controls;
+
+import de.redlion.badminton.MatchRandom;
+import de.redlion.badminton.Player.AIMING;
+
+/**
+ * Checks the InputTransitions tables against the if/else chains GameControls
+ * used before them, which are kept below as the reference. Every key, direction
+ * and mask of held keys is compared, then random key sequences are played
+ * through both to follow the direction from event to event, and finally the
+ * cost of one event is timed for both. Exits with 1 on any difference.
+ * Arguments: [random events] [seed]
+ */
+public class InputTransitionsCheckMain {
+
+	static final int LEFT = InputTransitions.LEFT;
+	static final int RIGHT = InputTransitions.RIGHT;
+	static final int UP = InputTransitions.UP;
+	static final int DOWN = InputTransitions.DOWN;
+	static final int KEYS = InputTransitions.KEYS;
+
+	public static void main(String[] args) {
+		int events = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+		int cases = 0;
+		int different = 0;
+		for(int key = 0; key < KEYS; key++) {
+			for(AIMING aiming : InputTransitions.AIMINGS) {
+				cases++;
+				if(InputTransitions.pressed(key, aiming.ordinal()) != pressed(key, aiming).ordinal()) {
+					System.out.println("press " + key + " at " + aiming + ": " + InputTransitions.AIMINGS[InputTransitions.pressed(key, aiming.ordinal())]
+							+ " instead of " + pressed(key, aiming));
+					different++;
+				}
+				for(int held = 0; held < 1 << KEYS; held++) {
+					if(isHeld(held, key))
+						continue;
+					cases++;
+					if(InputTransitions.released(key, aiming.ordinal(), held) != released(key, aiming, held).ordinal()) {
+						System.out.println("release " + key + " at " + aiming + " holding " + held + ": "
+								+ InputTransitions.AIMINGS[InputTransitions.released(key, aiming.ordinal(), held)] + " instead of " + released(key, aiming, held));
+						different++;
+					}
+				}
+			}
+		}
+		System.out.println(cases + " cases, " + different + " differ");
+
+		//random presses and releases of the direction keys, the direction carries over from event to event
+		MatchRandom random = new MatchRandom(seed);
+		int keyboard = 0;
+		int direction = 0;
+		AIMING aiming = AIMING.IDLE;
+		int diverged = 0;
+		for(int i = 0; i < events; i++) {
+			int key = random.nextInt(0, KEYS - 1);
+			if(isHeld(keyboard, key)) {
+				keyboard &= ~InputTransitions.bit(key);
+				direction = InputTransitions.released(key, direction, keyboard);
+				aiming = released(key, aiming, keyboard);
+			} else {
+				keyboard |= InputTransitions.bit(key);
+				direction = InputTransitions.pressed(key, direction);
+				aiming = pressed(key, aiming);
+			}
+			if(direction != aiming.ordinal()) {
+				if(diverged < 10)
+					System.out.println("event " + i + ": " + InputTransitions.AIMINGS[direction] + " instead of " + aiming);
+				diverged++;
+				direction = aiming.ordinal();
+			}
+		}
+		System.out.println(events + " random events, " + diverged + " differ");
+
+		int[] keys = new int[1 << 16];
+		int[] masks = new int[keys.length];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextInt(0, KEYS - 1);
+			masks[i] = random.nextInt(0, (1 << KEYS) - 1) & ~InputTransitions.bit(keys[i]);
+		}
+		for(int round = 0; round < 3; round++) {
+			long start = System.nanoTime();
+			int tableSink = 0;
+			for(int i = 0; i < events; i++) {
+				int e = i & (keys.length - 1);
+				tableSink = (i & 1) == 0 ? InputTransitions.pressed(keys[e], tableSink) : InputTransitions.released(keys[e], tableSink, masks[e]);
+			}
+			long table = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			AIMING chainSink = AIMING.IDLE;
+			for(int i = 0; i < events; i++) {
+				int e = i & (keys.length - 1);
+				chainSink = (i & 1) == 0 ? pressed(keys[e], chainSink) : released(keys[e], chainSink, masks[e]);
+			}
+			long chain = System.nanoTime() - start;
+
+			System.out.println("tables " + table / (float) events + "ns per event, chains " + chain / (float) events + "ns per event"
+					+ (tableSink == chainSink.ordinal() ? "" : ", ended apart"));
+		}
+
+		if(different > 0 || diverged > 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	static boolean isHeld(int held, int key) {
+		return (held & InputTransitions.bit(key)) != 0;
+	}
+
+	/** the old keyDownPlayer chain for aiming, the chain for moving was the same by ordinal */
+	static AIMING pressed(int key, AIMING aiming) {
+		if (key == LEFT) {
+			if (aiming == AIMING.IDLE)
+				aiming = AIMING.LEFT;
+			else if (aiming == AIMING.DOWN)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.DOWNLEFT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.DOWNRIGHT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.LEFT;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.UPLEFT;
+			else if (aiming == AIMING.UPLEFT)
+				aiming = AIMING.UPLEFT;
+			else if (aiming == AIMING.UPRIGHT)
+				aiming = AIMING.UPLEFT;
+		}
+		if (key == RIGHT) {
+			if (aiming == AIMING.IDLE)
+				aiming = AIMING.RIGHT;
+			else if (aiming == AIMING.DOWN)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.DOWNLEFT)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.DOWNRIGHT)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.RIGHT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.UPRIGHT;
+			else if (aiming == AIMING.UPLEFT)
+				aiming = AIMING.UPRIGHT;
+			else if (aiming == AIMING.UPRIGHT)
+				aiming = AIMING.UPRIGHT;
+		}
+		if (key == UP) {
+			if (aiming == AIMING.IDLE)
+				aiming = AIMING.UP;
+			else if (aiming == AIMING.DOWN)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.DOWNLEFT)
+				aiming = AIMING.UPLEFT;
+			else if (aiming == AIMING.DOWNRIGHT)
+				aiming = AIMING.UPRIGHT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.UPLEFT;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.UPRIGHT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.UP;
+			else if (aiming == AIMING.UPLEFT)
+				aiming = AIMING.UPLEFT;
+			else if (aiming == AIMING.UPRIGHT)
+				aiming = AIMING.UPRIGHT;
+		}
+		if (key == DOWN) {
+			if (aiming == AIMING.IDLE)
+				aiming = AIMING.DOWN;
+			else if (aiming == AIMING.DOWN)
+				aiming = AIMING.DOWN;
+			else if (aiming == AIMING.DOWNLEFT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.DOWNRIGHT)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.UPLEFT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.UPRIGHT)
+				aiming = AIMING.DOWNRIGHT;
+		}
+		return aiming;
+	}
+
+	/** the old keyUpPlayer chain for aiming, held are the other direction keys still down */
+	static AIMING released(int key, AIMING aiming, int held) {
+		if (key == LEFT) {
+			if (isHeld(held, RIGHT)) {
+				if (isHeld(held, UP))
+					aiming = AIMING.UPRIGHT;
+				else if (isHeld(held, DOWN))
+					aiming = AIMING.DOWNRIGHT;
+				else
+					aiming = AIMING.RIGHT;
+			} else if (aiming == AIMING.DOWN)
+				aiming = AIMING.DOWN;
+			else if (aiming == AIMING.DOWNLEFT) {
+				if (isHeld(held, RIGHT))
+					aiming = AIMING.DOWNRIGHT;
+				else
+					aiming = AIMING.DOWN;
+			} else if (aiming == AIMING.DOWNRIGHT)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.RIGHT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.UP;
+			else if (aiming == AIMING.UPLEFT) {
+				if (isHeld(held, RIGHT))
+					aiming = AIMING.UPRIGHT;
+				else
+					aiming = AIMING.UP;
+			} else if (aiming == AIMING.UPRIGHT)
+				aiming = AIMING.UPRIGHT;
+		}
+		if (key == RIGHT) {
+			if (isHeld(held, LEFT)) {
+				if (isHeld(held, UP))
+					aiming = AIMING.UPLEFT;
+				else if (isHeld(held, DOWN))
+					aiming = AIMING.DOWNLEFT;
+				else
+					aiming = AIMING.LEFT;
+			}
+			if (aiming == AIMING.DOWN)
+				aiming = AIMING.DOWN;
+			else if (aiming == AIMING.DOWNRIGHT) {
+				if (isHeld(held, LEFT))
+					aiming = AIMING.DOWNLEFT;
+				else
+					aiming = AIMING.DOWN;
+			} else if (aiming == AIMING.DOWNLEFT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.LEFT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.UP;
+			else if (aiming == AIMING.UPRIGHT) {
+				if (isHeld(held, LEFT))
+					aiming = AIMING.UPLEFT;
+				else
+					aiming = AIMING.UP;
+			} else if (aiming == AIMING.UPLEFT)
+				aiming = AIMING.UPLEFT;
+		}
+		if (key == UP) {
+			if (isHeld(held, DOWN)) {
+				if (isHeld(held, LEFT))
+					aiming = AIMING.DOWNLEFT;
+				else if (isHeld(held, RIGHT))
+					aiming = AIMING.DOWNRIGHT;
+				else
+					aiming = AIMING.DOWN;
+			}
+			if (aiming == AIMING.DOWN)
+				aiming = AIMING.DOWN;
+			else if (aiming == AIMING.DOWNLEFT)
+				aiming = AIMING.DOWNLEFT;
+			else if (aiming == AIMING.DOWNRIGHT)
+				aiming = AIMING.DOWNRIGHT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.LEFT;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.RIGHT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.UPLEFT) {
+				if (isHeld(held, DOWN))
+					aiming = AIMING.DOWNLEFT;
+				else
+					aiming = AIMING.LEFT;
+			} else if (aiming == AIMING.UPRIGHT) {
+				if (isHeld(held, DOWN))
+					aiming = AIMING.DOWNRIGHT;
+				else
+					aiming = AIMING.RIGHT;
+			}
+		}
+		if (key == DOWN) {
+			if (isHeld(held, UP)) {
+				if (isHeld(held, LEFT))
+					aiming = AIMING.UPLEFT;
+				else if (isHeld(held, RIGHT))
+					aiming = AIMING.UPRIGHT;
+				else
+					aiming = AIMING.UP;
+			}
+			if (aiming == AIMING.DOWN)
+				aiming = AIMING.IDLE;
+			else if (aiming == AIMING.UPLEFT)
+				aiming = AIMING.UPLEFT;
+			else if (aiming == AIMING.UPRIGHT)
+				aiming = AIMING.UPRIGHT;
+			else if (aiming == AIMING.LEFT)
+				aiming = AIMING.LEFT;
+			else if (aiming == AIMING.RIGHT)
+				aiming = AIMING.RIGHT;
+			else if (aiming == AIMING.UP)
+				aiming = AIMING.UP;
+			else if (aiming == AIMING.DOWNLEFT) {
+				if (isHeld(held, UP))
+					aiming = AIMING.UPLEFT;
+				else
+					aiming = AIMING.LEFT;
+			} else if (aiming == AIMING.DOWNRIGHT) {
+				if (isHeld(held, UP))
+					aiming = AIMING.UPRIGHT;
+				else
+					aiming = AIMING.RIGHT;
+			}
+		}
+		return aiming;
+	}
+
+}
@@ -1,12 +1,10 @@
 package de.redlion.badminton;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
-import com.badlogic.gdx.utils.Array;
 
-import de.redlion.badminton.opponent.Opponent;
+import de.redlion.badminton.simulation.SimulationListener;
 
 public class Birdie {
 
@@ -15,6 +13,8 @@ public class Birdie {
 	}
 
 	public Vector3 currentPosition = new Vector3(-2, 0.5f, 7);
+	//position before the last update, for interpolated rendering
+	public Vector3 previousPosition = new Vector3(-2, 0.5f, 7);
 	public Vector3 fromPosition = new Vector3(-2, 0.5f, 7);
 	public Vector3 via1 = new Vector3(0,7,1);
 	public Vector3 via2 = new Vector3(0,7,-1);
@@ -23,153 +23,181 @@ public class Birdie {
 	public Vector3 tangent = new Vector3(0,0,1);
 	public Vector3 up = new Vector3(0,1,0);
 	
-	public float maxHeight = 10;
+	public Trajectory trajectory = new Trajectory();
 	
-	boolean smash = false;
+	//where and when the current flight reaches the ground, computed once per hit
+	public Vector3 landingPoint = new Vector3(0, 0, -6);
+	public float landingTime = 0;
+	public float flightTime = 0;
 	
-	public Array<Vector3> trajectoryPath = new Array<Vector3>();
-
+	//where the current flight crosses the net plane z = 0, computed once per hit
+	public float netT = -1;
+	public Vector3 netPoint = new Vector3();
+	public boolean netFault = false;
+	
+	//top edge and half width of the net model
+	static final float NET_HEIGHT = 3.7f;
+	static final float NET_HALF_WIDTH = 7.5f;
+	
+	//strength of the last shot, scales the speed
 	public float acceleration = 1;
-	public final float speed = 0.75f;
+	//world units per second along the flight curve at full strength
+	public final float speed = 21;
 	
-	float t = 0;
+	//the birdie leaves a trail while it drops steeper than this, y of the normalized tangent
+	static final float TRAIL_DESCENT = -0.7f;
+	//about a second of trail at 60 updates per second
+	static final int TRAIL_LENGTH = 64;
+	public TrailBuffer trajectoryPath = new TrailBuffer(TRAIL_LENGTH);
+	
+	//distance travelled along the current curve and the curve parameter it maps to
+	public float distance = 0;
+	public float t = 0;
 	public STATE state = STATE.HELD;
+	//counts the hits, a new value means a new flight curve
+	public int flight = 0;
+	
+	public SimulationListener listener;
 
 	public Birdie() {
+		trajectory.set(fromPosition, via1, via2, toPosition);
 	}
 
-	public void update() {
+	public void update(MatchContext match, float delta) {
+		previousPosition.set(currentPosition);
+		
 		if (state == STATE.HELD || state == STATE.PREPARED) {
-			if(GameSession.getInstance().player.service) {
-				currentPosition = GameSession.getInstance().player.position.cpy().add(-1.0f, 1, 0);
+			if(match.player.service) {
+				currentPosition.set(match.player.position).add(-1.0f, 1, 0);
 			} else {
-				currentPosition = GameSession.getInstance().opponent.position.cpy().add(-1.0f, 1, 0);
+				currentPosition.set(match.opponent.position).add(-1.0f, 1, 0);
 			}
 
+		} else if(netFault && t >= netT) {
+			hitNet(match);
+		} else if(fly(delta)) {
+			state = STATE.NONHIT;
+			score(match);
+			reset(match);
+		}
+	}
+	
+	/** the birdie got stuck in the net, point for the side that didn't hit it */
+	public void hitNet(MatchContext match) {
+		currentPosition.set(netPoint);
+		//drop it on the hitter's side, reset() gives the serve by the side it lies on
+		if(state == STATE.HIT) {
+			match.opponentScore++;
+			currentPosition.z = 0.01f;
 		} else {
-					
-			currentPosition = fromPosition.cpy().mul((float) Math.pow(1-t, 3));
-			currentPosition.add(via1.cpy().mul(3 * t).mul((float) Math.pow(1-t, 2)));
-			currentPosition.add(via2.cpy().mul((float) (3 * Math.pow(t, 2))).mul(1-t));
-			currentPosition.add(toPosition.cpy().mul((float) Math.pow(t, 3)));
-			
-			tangent = via1.cpy().mul((float) (-3 * Math.pow(t, 2)) + 4*t -1);
-			tangent.add(fromPosition.cpy().mul((float) Math.pow(t-1, 2)));
-			tangent.add((via2.cpy().mul(3*t - 2).sub(toPosition.cpy().mul(t))).mul(t));
-			tangent.mul(-3);
-			tangent.nor();
-			
-			up= (fromPosition.cpy().mul(t-1).add(via1.cpy().mul(2-3*t)).add(via2.cpy().mul(3*t)).sub(toPosition.cpy().mul(t)).sub(via2)).mul(-6);
-			if(state == Birdie.STATE.HITBYOPPONENT)
-				up.mul(-1);
-			up.nor();
-			
-			if(!smash)
-				t+= (Gdx.graphics.getDeltaTime()) * acceleration * speed;
-			else
-				t+= (Gdx.graphics.getDeltaTime()) * acceleration * speed;
-			
-			if(acceleration > 1.5f)
-				trajectoryPath.add(currentPosition);
-			else
-				trajectoryPath.clear();
-			
-			if (currentPosition.y >= 0) {
-				//currentPosition.z = currentPosition.z + (Gdx.graphics.getDeltaTime() * 2.f);
-			} else {
-				state = STATE.NONHIT;
-				score();
-				reset();
-			}
-						
-			//accelerate if falling down, else decrease speed	
-			maxHeight = Math.max(maxHeight, -currentPosition.z);
-
-			if(maxHeight == -currentPosition.z) {
-				acceleration -= Gdx.graphics.getDeltaTime()/1.8f;
-			} else {
-				acceleration += Gdx.graphics.getDeltaTime()/1.8f;
-			}
-			if(acceleration<0.1) {
-				acceleration = 0.1f;
-			}
-			
+			match.playerScore++;
+			currentPosition.z = -0.01f;
 		}
+		state = STATE.NONHIT;
+		reset(match);
 	}
 
-	public void score() {
+	/**
+	 * Moves the birdie along its flight curve without looking at the match.
+	 * @return true if it reached the ground
+	 */
+	public boolean fly(float delta) {
+		trajectory.position(t, currentPosition);
+		
+		trajectory.tangent(t, tangent);
+		tangent.nor();
+		
+		trajectory.up(t, up);
+		if(state == Birdie.STATE.HITBYOPPONENT)
+			up.mul(-1);
+		up.nor();
+		
+		flightTime += delta;
+		
+		if(tangent.y < TRAIL_DESCENT)
+			trajectoryPath.add(currentPosition, flightTime);
+		else
+			trajectoryPath.clear();
+		
+		distance += delta * acceleration * speed;
+		t = trajectory.parameterAt(distance);
+		
+		return currentPosition.y < 0;
+	}
+
+	public void score(MatchContext match) {
 		if (currentPosition.z < 0) {
 			if (Math.abs(currentPosition.x) < 3) {
 				if (Math.abs(currentPosition.z) < 7.5) {
-					GameSession.getInstance().playerScore++;
+					match.playerScore++;
 				} else {
-					GameSession.getInstance().opponentScore++;
+					match.opponentScore++;
 				}
 			} else {
-				GameSession.getInstance().opponentScore++;
+				match.opponentScore++;
 			}
 		}
 
 		if (currentPosition.z > 0) {
 			if (Math.abs(currentPosition.x) < 3)
 				if (Math.abs(currentPosition.z) < 7.5)
-					GameSession.getInstance().opponentScore++;
+					match.opponentScore++;
 				else
-					GameSession.getInstance().playerScore++;
+					match.playerScore++;
 			else
-				GameSession.getInstance().playerScore++;
+				match.playerScore++;
 		}
 	}
 
-	public void reset() {
+	public void reset(MatchContext match) {
 		
 		if (currentPosition.z < 0) {
-			currentPosition = GameSession.getInstance().player.position.cpy()
+			currentPosition.set(match.player.position)
 					.add(-0.5f, 0, 0);
 			currentPosition.y = 0f;
-			toPosition = new Vector3(0, -6, -0.5f);			
-			if(GameSession.getInstance().player.state != Player.STATE.AIMING) {
-				GameSession.getInstance().player.switchState();
+			toPosition.set(0, -6, -0.5f);			
+			if(match.player.state != Player.STATE.AIMING) {
+				match.player.switchState();
 			}
 			
-			if(GameSession.getInstance().opponent.state == Player.STATE.AIMING) {
-				GameSession.getInstance().opponent.switchState();
+			if(match.opponent.state == Player.STATE.AIMING) {
+				match.opponent.switchState();
 			}
 			
-			GameSession.getInstance().player.service = true;
-			GameSession.getInstance().opponent.service = false;
+			match.player.service = true;
+			match.opponent.service = false;
 		} else {
-			currentPosition = GameSession.getInstance().opponent.position.cpy()
+			currentPosition.set(match.opponent.position)
 					.add(-0.5f, 0, 0);
 			currentPosition.y = 0f;
-			toPosition = new Vector3(0, -6, -0.5f);
-			if(GameSession.getInstance().opponent.state != Player.STATE.AIMING) {
-				GameSession.getInstance().opponent.switchState();	
+			toPosition.set(0, -6, -0.5f);
+			if(match.opponent.state != Player.STATE.AIMING) {
+				match.opponent.switchState();	
 			}			
 			
-			if(GameSession.getInstance().player.state == Player.STATE.AIMING) {
-				GameSession.getInstance().player.switchState();
+			if(match.player.state == Player.STATE.AIMING) {
+				match.player.switchState();
 			}
 			
-			GameSession.getInstance().player.service = false;
-			GameSession.getInstance().opponent.service = true;
+			match.player.service = false;
+			match.opponent.service = true;
 		}
 		t=0;
+		distance = 0;
+		flightTime = 0;
 		state = STATE.HELD;
-
-		smash = false;
+		previousPosition.set(currentPosition);
 		
 		trajectoryPath.clear();
 	}
 
-	public void hit(Player player, boolean high) {
-		if(player instanceof Opponent) {
+	public void hit(MatchContext match, Player player, boolean high) {
+		if(player.side == Player.SIDE.TOP) {
 			state = Birdie.STATE.HITBYOPPONENT;
 		} else {
 			state = Birdie.STATE.HIT;
 		}
-		
-		maxHeight = 0;
+		flight++;
 		
 		//set player states
 		player.service = false;
@@ -179,37 +207,38 @@ public class Birdie {
 		if(acceleration > 1.f)
 			acceleration = 1.f;
 		t=0;
-		fromPosition = currentPosition.cpy();
+		distance = 0;
+		fromPosition.set(currentPosition);
 		
 		if(player.side == Player.SIDE.BOTTOM) {
 				
 			if(player.aiming == Player.AIMING.LEFT) {
 				toPosition.x = fromPosition.x - acceleration * 4;
-				if(toPosition.x < GameSession.getInstance().borders.min.x)
-					toPosition.x = GameSession.getInstance().borders.min.x;
-				toPosition.z = GameSession.getInstance().borders.min.z + (fromPosition.z /3);
+				if(toPosition.x < match.borders.min.x)
+					toPosition.x = match.borders.min.x;
+				toPosition.z = match.borders.min.z + (fromPosition.z /3);
 			}
 			else if(player.aiming == Player.AIMING.RIGHT) {
 				toPosition.x = fromPosition.x + acceleration * 4;
-				if(toPosition.x > GameSession.getInstance().borders.max.x)
-					toPosition.x = GameSession.getInstance().borders.max.x;
-				toPosition.z = GameSession.getInstance().borders.min.z + (fromPosition.z /7);
+				if(toPosition.x > match.borders.max.x)
+					toPosition.x = match.borders.max.x;
+				toPosition.z = match.borders.min.z + (fromPosition.z /7);
 			}
 			else if(player.aiming == Player.AIMING.UPLEFT) {
 				toPosition.x = fromPosition.x - 0.8f * acceleration * 4;
-				if(toPosition.x < GameSession.getInstance().borders.min.x)
-					toPosition.x = GameSession.getInstance().borders.min.x;
+				if(toPosition.x < match.borders.min.x)
+					toPosition.x = match.borders.min.x;
 				toPosition.z = -3 - acceleration * 4 + (fromPosition.z /7);
-				if(toPosition.z < GameSession.getInstance().borders.min.z)
-					toPosition.z = GameSession.getInstance().borders.min.z;
+				if(toPosition.z < match.borders.min.z)
+					toPosition.z = match.borders.min.z;
 			}
 			else if(player.aiming == Player.AIMING.UPRIGHT) {
 				toPosition.x = fromPosition.x + 0.8f * acceleration * 4;
-				if(toPosition.x > GameSession.getInstance().borders.max.x)
-					toPosition.x = GameSession.getInstance().borders.max.x;
+				if(toPosition.x > match.borders.max.x)
+					toPosition.x = match.borders.max.x;
 				toPosition.z = -3 - acceleration * 4 + (fromPosition.z /7);
-				if(toPosition.z < GameSession.getInstance().borders.min.z)
-					toPosition.z = GameSession.getInstance().borders.min.z;
+				if(toPosition.z < match.borders.min.z)
+					toPosition.z = match.borders.min.z;
 			}
 			else { 
 				toPosition.x = 0;
@@ -220,31 +249,31 @@ public class Birdie {
 			
 			if(player.aiming == Player.AIMING.LEFT) {
 				toPosition.x = fromPosition.x + acceleration * 4;
-				if(toPosition.x < GameSession.getInstance().borders.max.x)
-					toPosition.x = GameSession.getInstance().borders.max.x;
-				toPosition.z = GameSession.getInstance().borders.max.z + (fromPosition.z /3);
+				if(toPosition.x < match.borders.max.x)
+					toPosition.x = match.borders.max.x;
+				toPosition.z = match.borders.max.z + (fromPosition.z /3);
 			}
 			else if(player.aiming == Player.AIMING.RIGHT) {
 				toPosition.x = fromPosition.x - acceleration * 4;
-				if(toPosition.x > GameSession.getInstance().borders.min.x)
-					toPosition.x = GameSession.getInstance().borders.min.x;
-				toPosition.z = GameSession.getInstance().borders.max.z + (fromPosition.z /7);
+				if(toPosition.x > match.borders.min.x)
+					toPosition.x = match.borders.min.x;
+				toPosition.z = match.borders.max.z + (fromPosition.z /7);
 			}
 			else if(player.aiming == Player.AIMING.UPLEFT) {
 				toPosition.x = fromPosition.x + 0.8f * acceleration * 4;
-				if(toPosition.x < GameSession.getInstance().borders.min.x)
-					toPosition.x = GameSession.getInstance().borders.min.x;
+				if(toPosition.x < match.borders.min.x)
+					toPosition.x = match.borders.min.x;
 				toPosition.z = 3 + acceleration * 4 + (fromPosition.z /7);
-				if(toPosition.z < GameSession.getInstance().borders.max.z)
-					toPosition.z = GameSession.getInstance().borders.max.z;
+				if(toPosition.z < match.borders.max.z)
+					toPosition.z = match.borders.max.z;
 			}
 			else if(player.aiming == Player.AIMING.UPRIGHT) {
 				toPosition.x = fromPosition.x - 0.8f * acceleration * 4;
-				if(toPosition.x > GameSession.getInstance().borders.max.x)
-					toPosition.x = GameSession.getInstance().borders.max.x;
+				if(toPosition.x > match.borders.max.x)
+					toPosition.x = match.borders.max.x;
 				toPosition.z = 3 + acceleration * 4 + (fromPosition.z /7);
-				if(toPosition.z < GameSession.getInstance().borders.max.z)
-					toPosition.z = GameSession.getInstance().borders.max.z;
+				if(toPosition.z < match.borders.max.z)
+					toPosition.z = match.borders.max.z;
 			}
 			else { 
 				toPosition.x = 0;
@@ -254,12 +283,7 @@ public class Birdie {
 			
 		}
 		
-		if(acceleration > 1.5f && !high) {
-			toPosition.z -= 1;
-			toPosition.z -= 1;
-		}
-		
-		fuzzyPosition(toPosition, 2.f - acceleration);
+		fuzzyPosition(match.random, toPosition, 2.f - acceleration);
 		
 		float middleY = (fromPosition.z + toPosition.z) /1.5f;
 		
@@ -278,26 +302,52 @@ public class Birdie {
 		else {
 			via1.y = 8;
 			via2.y = 8;
-			
-			if(acceleration > 1.5f) {
-				via1.y = -2.0f;
-				via2.y = -1.5f;
-				
-				smash = true;
-				Gdx.app.log("S M A S H", toPosition + "");
-			}
 		}
+		
+		trajectory.set(fromPosition, via1, via2, toPosition);
+		checkNet();
+		predictLanding();
+		flightTime = 0;
 
-		System.out.println("Hit");
-		System.out.println(fromPosition);
-		System.out.println(via1);
-		System.out.println(via2);
-		System.out.println(toPosition);		
+		if(listener != null)
+			listener.hit(player, this);
 	}
 		
-	public void fuzzyPosition(Vector3 pos, float aimTime) {		
-		float x = (float) Math.random() * aimTime * 2 - aimTime;
-		float z = (float) Math.random() * aimTime * 2 - aimTime;
+	/** finds where the curve crosses the net plane and if it passes below the top of the net there */
+	void checkNet() {
+		netFault = false;
+		netT = trajectory.netCrossing();
+		float landingT = trajectory.groundCrossing();
+		if(netT < 0 || (landingT >= 0 && netT >= landingT)) {
+			netT = -1;
+			return;
+		}
+		trajectory.position(netT, netPoint);
+		netFault = netPoint.y < NET_HEIGHT && Math.abs(netPoint.x) < NET_HALF_WIDTH;
+	}
+	
+	/**
+	 * Finds where the curve hits the ground, the birdie flies at a constant speed
+	 * so the time to get there is the arc length over the speed.
+	 */
+	void predictLanding() {
+		float landingT = netFault ? netT : trajectory.groundCrossing();
+		if(landingT < 0)
+			landingT = 1;
+		trajectory.position(landingT, landingPoint);
+		landingTime = trajectory.lengthAt(landingT) / (acceleration * speed);
+	}
+	
+	/** seconds until the birdie reaches the ground, 0 if it isn't flying */
+	public float timeToLand() {
+		if(state == STATE.HELD || state == STATE.PREPARED)
+			return 0;
+		return Math.max(0, landingTime - flightTime);
+	}
+	
+	public void fuzzyPosition(MatchRandom random, Vector3 pos, float aimTime) {		
+		float x = random.nextFloat() * aimTime * 2 - aimTime;
+		float z = random.nextFloat() * aimTime * 2 - aimTime;
 		
 		pos.x += x;
 		pos.z += z;		
@@ -10,6 +10,16 @@ public class Configuration {
 	public boolean fullscreen;
 	public float brighness = 0.0f;
 	public boolean debug = false;
+	//simulation steps per second, stored values are clamped to MIN_SIMULATION_RATE..MAX_SIMULATION_RATE
+	public int simulationRate = 60;
+	static final int MIN_SIMULATION_RATE = 10;
+	static final int MAX_SIMULATION_RATE = 1000;
+	//share of the AI's shots that get searched instead of aimed at random
+	public float aiDifficulty = 1;
+	//microseconds per tick the AI may spend searching for its next shot
+	public int aiSearchBudget = 500;
+	//precomputed AI aims to use instead of searching, empty for the shipped table of aiDifficulty
+	public String aiPolicyTable = "";
 	
 	static Configuration instance;
 	
@@ -20,6 +30,10 @@ public class Configuration {
 	
 	private void loadConfig() {
 		fullscreen = preferences.getBoolean("fullscreen", false);
+		simulationRate = Math.max(MIN_SIMULATION_RATE, Math.min(MAX_SIMULATION_RATE, preferences.getInteger("simulationRate", 60)));
+		aiDifficulty = preferences.getFloat("aiDifficulty", 1);
+		aiSearchBudget = preferences.getInteger("aiSearchBudget", 500);
+		aiPolicyTable = preferences.getString("aiPolicyTable", "");
 	}
 	
 	public void setConfiguration() {
@@ -0,0 +1,165 @@
+package de.redlion.badminton;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+import de.redlion.badminton.controls.SinglePlayerControls;
+import de.redlion.badminton.render.RenderDebug;
+import de.redlion.badminton.render.RenderStadium;
+import de.redlion.badminton.simulation.DrillSimulation;
+
+public class DrillGameScreen extends DefaultScreen {
+
+	float startTime = 0;
+	PerspectiveCamera cam;
+
+	SpriteBatch batch;
+	SpriteBatch fadeBatch;
+	Sprite blackFade;
+	
+	BitmapFont font;
+	
+	RenderStadium renderStadium;
+	RenderDebug renderDebug;
+
+	Player player = GameSession.getInstance().player;
+	Birdie birdie = GameSession.getInstance().birdie;
+
+	float fade = 1.0f;
+	boolean finished = false;
+
+	float delta;
+	
+	DrillSimulation simulation;
+	SimulationClock clock = new SimulationClock(1.0f / Configuration.getInstance().simulationRate);
+
+	public DrillGameScreen(Game game) {
+		super(game);
+		
+		GameSession.getInstance().newSinglePlayerGame();
+		
+		//the drill doesn't use the match birdie, the shoot key only switches aiming when it isn't held
+		birdie.state = Birdie.STATE.NONHIT;
+		player.service = false;
+		
+		simulation = new DrillSimulation(GameSession.getInstance());
+		renderStadium = new RenderStadium(GameSession.getInstance());
+		renderStadium.shuttles = simulation.shuttles;
+		renderDebug = new RenderDebug(GameSession.getInstance());
+		
+		Gdx.input.setInputProcessor(new SinglePlayerControls(player));
+
+		batch = new SpriteBatch();
+		batch.getProjectionMatrix().setToOrtho2D(0, 0, 800, 480);
+		
+		blackFade = new Sprite(
+				new Texture(Gdx.files.internal("data/black.png")));
+		fadeBatch = new SpriteBatch();
+		fadeBatch.getProjectionMatrix().setToOrtho2D(0, 0, 1, 1);
+		
+		font = Resources.getInstance().font;
+		font.setScale(1);
+		
+		cam = new PerspectiveCamera(7, Gdx.graphics.getWidth(),	Gdx.graphics.getHeight());
+		cam.lookAt(0, 0, 0.5f);
+
+		initRender();
+	}
+
+	public void initRender() {
+		Gdx.graphics.getGL20().glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+		Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0);
+		Gdx.gl.glClearColor(0.2f ,0.2f ,0.2f ,1.0f);
+	}
+
+	@Override
+	public void resize(int width, int height) {
+		super.resize(width, height);
+		cam.viewportWidth = width;
+		cam.viewportHeight = height;
+		
+		renderDebug.resize(width, height);
+		
+		initRender();
+	}
+
+	@Override
+	public void show() {
+	}
+	
+	@Override
+	public void render(float deltaTime) {
+		clock.advance(deltaTime);
+		while(clock.step()) {
+			simulation.step(clock.timeStep);
+		}
+		renderFrame(deltaTime);
+	}
+
+	public void renderFrame(float deltaTime) {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		delta = Math.min(0.1f, deltaTime);
+
+		startTime += delta;
+
+		cam.update();
+		
+		cam.position.set(0, 26f, 58f);
+		cam.fieldOfView = 14;
+		cam.lookAt(0, 0.0f, 0);
+		cam.up.set(0, 1, 0);
+		cam.near = 0.5f;
+		cam.far = 1000f;
+		renderStadium.updateCamera(cam);
+		if(!Configuration.getInstance().debug) {
+			renderStadium.render(delta, clock.alpha());
+		}
+
+		batch.begin();
+		font.draw(batch, "returned " + simulation.returned + " missed " + simulation.missed
+				+ " in the air " + simulation.shuttles.size, 560, 30);
+		batch.end();
+
+		if (Configuration.getInstance().debug) {
+			renderDebug.render(cam);
+		}
+
+		// FadeInOut
+		if (!finished && fade > 0) {
+			fade = Math.max(fade - (delta), 0);
+			fadeBatch.begin();
+			blackFade.setColor(blackFade.getColor().r, blackFade.getColor().g,
+					blackFade.getColor().b, fade);
+			blackFade.draw(fadeBatch);
+			fadeBatch.end();
+		}
+
+		if (finished) {
+			fade = Math.min(fade + (delta), 1);
+			fadeBatch.begin();
+			blackFade.setColor(blackFade.getColor().r, blackFade.getColor().g,
+					blackFade.getColor().b, fade);
+			blackFade.draw(fadeBatch);
+			fadeBatch.end();
+			if (fade >= 1) {
+				Gdx.app.exit();
+			}
+		}
+	}
+
+	@Override
+	public void hide() {
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+}
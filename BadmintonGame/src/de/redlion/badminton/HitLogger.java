@@ -0,0 +1,17 @@
+package de.redlion.badminton;
+
+import com.badlogic.gdx.Gdx;
+
+import de.redlion.badminton.simulation.SimulationListener;
+
+/**
+ * Writes the birdie curve of every hit to the Gdx log.
+ */
+public class HitLogger implements SimulationListener {
+
+	@Override
+	public void hit(Player player, Birdie birdie) {
+		Gdx.app.log("Hit", birdie.fromPosition + " " + birdie.via1 + " " + birdie.via2 + " " + birdie.toPosition);
+	}
+
+}
@@ -14,6 +14,8 @@ import de.redlion.badminton.controls.TwoPlayerControls;
 import de.redlion.badminton.opponent.Opponent;
 import de.redlion.badminton.render.RenderDebug;
 import de.redlion.badminton.render.RenderStadium;
+import de.redlion.badminton.simulation.LocalMultiPlayerSimulation;
+import de.redlion.badminton.simulation.Simulation;
 
 public class LocalMultiPlayerGameScreen extends DefaultScreen {
 
@@ -37,6 +39,9 @@ public class LocalMultiPlayerGameScreen extends DefaultScreen {
 	boolean finished = false;
 
 	float delta;
+	
+	Simulation simulation;
+	SimulationClock clock = new SimulationClock(1.0f / Configuration.getInstance().simulationRate);
 
 	public LocalMultiPlayerGameScreen(Game game) {
 		super(game);
@@ -46,8 +51,10 @@ public class LocalMultiPlayerGameScreen extends DefaultScreen {
 		//refresh references 
 		//TODO Observer Pattern for newGame
 		opponent = GameSession.getInstance().opponent;
-		renderStadium = new RenderStadium();
-		renderDebug = new RenderDebug();
+		simulation = new LocalMultiPlayerSimulation(GameSession.getInstance());
+		birdie.listener = new HitLogger();
+		renderStadium = new RenderStadium(GameSession.getInstance());
+		renderDebug = new RenderDebug(GameSession.getInstance());
 		
 		Gdx.input.setInputProcessor(new TwoPlayerControls(player, opponent));
 
@@ -92,14 +99,13 @@ public class LocalMultiPlayerGameScreen extends DefaultScreen {
 	public void show() {
 	}
 	
-	private float deltaCount = 0;	
 	@Override
 	public void render(float deltaTime) {
-		deltaCount += deltaTime;
-		if(deltaCount > 0.01) {
-			deltaCount = 0;
-			renderFrame(0.02f);
+		clock.advance(deltaTime);
+		while(clock.step()) {
+			simulation.step(clock.timeStep);
 		}
+		renderFrame(deltaTime);
 	}
 
 	public void renderFrame(float deltaTime) {
@@ -109,9 +115,6 @@ public class LocalMultiPlayerGameScreen extends DefaultScreen {
 		startTime += delta;
 
 		cam.update();
-
-		collisionTest();
-		updateAI();
 		
 		cam.position.set(0, 26f, 58f);
 		cam.fieldOfView = 14;
@@ -120,7 +123,7 @@ public class LocalMultiPlayerGameScreen extends DefaultScreen {
 		cam.near = 0.5f;
 		cam.far = 1000f;
 		renderStadium.updateCamera(cam);
-		renderStadium.render();
+		renderStadium.render(delta, clock.alpha());
 		
 		if (Configuration.getInstance().debug) {
 			renderDebug.render(cam);
@@ -149,39 +152,6 @@ public class LocalMultiPlayerGameScreen extends DefaultScreen {
 		}
 	}
 
-	private void updateAI() {	
-		birdie.update();
-		player.update();
-		opponent.update();
-	}
-
-	private void collisionTest() {
-		if(birdie.state == Birdie.STATE.HELD) {
-			return;
-		}
-
-		// check if player is in aiming mode and could hit birdie
-		if (player.state == Player.STATE.AIMING
-				&& player.position.dst(birdie.currentPosition) < 4f
-				&& birdie.state != Birdie.STATE.HIT) {
-			birdie.hit(player, false);
-				
-			player.switchState();
-			
-		}
-		
-		// check if player is in aiming mode and could hit birdie
-		if (opponent.state == Player.STATE.AIMING
-				&& opponent.position.dst(birdie.currentPosition) < 4f
-				&& birdie.state != Birdie.STATE.HITBYOPPONENT) {
-			birdie.hit(opponent, false);
-			
-			opponent.switchState();
-		
-		}
-
-	}
-
 	@Override
 	public void hide() {
 	}
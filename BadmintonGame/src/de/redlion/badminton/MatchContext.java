@@ -0,0 +1,55 @@
+package de.redlion.badminton;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+
+import de.redlion.badminton.opponent.AIOpponent;
+import de.redlion.badminton.opponent.LocalOpponent;
+import de.redlion.badminton.opponent.NetworkOpponent;
+import de.redlion.badminton.opponent.Opponent;
+
+/**
+ * Everything that belongs to one match. Passed into the update methods so
+ * several matches can live in the same process.
+ */
+public class MatchContext {
+	
+	public Player player = new Player(Player.SIDE.BOTTOM, true);
+	public Opponent opponent = new Opponent(Player.SIDE.TOP, false);
+	public Birdie birdie = new Birdie();
+	
+	public MatchRandom random = new MatchRandom();
+	
+	public BoundingBox borders = new BoundingBox(new Vector3(-6.5f, 0, -14f), new Vector3(6.5f, 0, 14f));
+	
+
+	public int playerScore = 0;
+	public int opponentScore = 0;
+	
+	public void newSinglePlayerGame() {
+		playerScore = 0;
+		opponentScore = 0;
+		opponent = new AIOpponent(Player.SIDE.TOP, false);
+	}
+	
+	/** both sides played by the AI, for headless simulations */
+	public void newAIGame() {
+		playerScore = 0;
+		opponentScore = 0;
+		player = new AIOpponent(Player.SIDE.BOTTOM, true);
+		opponent = new AIOpponent(Player.SIDE.TOP, false);
+	}
+	
+	public void newMultiPlayerGame() {
+		playerScore = 0;
+		opponentScore = 0;
+		opponent = new NetworkOpponent(Player.SIDE.TOP, false);
+	}
+	
+	public void newLocalMultiPlayerGame() {
+		playerScore = 0;
+		opponentScore = 0;
+		opponent = new LocalOpponent(Player.SIDE.TOP, false);
+	}
+
+}
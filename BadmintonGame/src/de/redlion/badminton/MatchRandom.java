@@ -0,0 +1,59 @@
+package de.redlion.badminton;
+
+/**
+ * SplitMix64 random numbers for one match. It isn't synchronized, every match
+ * owns its instance, so parallel simulations don't share a generator and a
+ * match seeded with the same value plays the same rallies for the same input.
+ */
+public class MatchRandom {
+
+	static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	long seed;
+
+	public MatchRandom() {
+		this(System.nanoTime());
+	}
+
+	public MatchRandom(long seed) {
+		setSeed(seed);
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public long nextLong() {
+		long z = (seed += GOLDEN_GAMMA);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/** random number between 0 (inclusive) and bound (exclusive) */
+	public int nextInt(int bound) {
+		if(bound <= 0)
+			throw new IllegalArgumentException("bound must be positive: " + bound);
+		return (int) (((nextLong() >>> 32) * bound) >>> 32);
+	}
+
+	/** random number between start and end, both inclusive */
+	public int nextInt(int start, int end) {
+		return start + nextInt(end - start + 1);
+	}
+
+	/** random number between 0 (inclusive) and 1 (exclusive) */
+	public float nextFloat() {
+		return (nextLong() >>> 40) * 0x1.0p-24f;
+	}
+
+	/** new generator seeded from this one, e.g. for the matches of a batch */
+	public MatchRandom split() {
+		return new MatchRandom(nextLong());
+	}
+
+}
@@ -18,7 +18,7 @@ import com.badlogic.gdx.math.Vector3;
 public class MenuScreen extends DefaultScreen implements InputProcessor {
 
 	public enum MODE {
-		SINGLEPLAYER,NETWORKMULTIPLAYER,LOCALMULTIPLAYER,EXIT;
+		SINGLEPLAYER,NETWORKMULTIPLAYER,LOCALMULTIPLAYER,DRILL,EXIT;
 	}
 	
 	MODE mode = MODE.EXIT;
@@ -110,9 +110,10 @@ public class MenuScreen extends DefaultScreen implements InputProcessor {
 		cam.update();
 
 		batch.begin();
-		font.draw(batch, "1. Single Player", 50, 80);
-		font.draw(batch, "2. Network Multiplayer", 50, 60);
-		font.draw(batch, "3. Local Multiplayer", 50, 40);
+		font.draw(batch, "1. Single Player", 50, 100);
+		font.draw(batch, "2. Network Multiplayer", 50, 80);
+		font.draw(batch, "3. Local Multiplayer", 50, 60);
+		font.draw(batch, "4. Drill", 50, 40);
 		batch.end();
 
 		// FadeInOut
@@ -142,6 +143,9 @@ public class MenuScreen extends DefaultScreen implements InputProcessor {
 				if(mode == MODE.LOCALMULTIPLAYER) {
 					game.setScreen(new LocalMultiPlayerGameScreen(game));
 				} 
+				if(mode == MODE.DRILL) {
+					game.setScreen(new DrillGameScreen(game));
+				} 
 				if(mode == MODE.EXIT) {
 					Gdx.app.exit();
 				}
@@ -200,6 +204,10 @@ public class MenuScreen extends DefaultScreen implements InputProcessor {
 			mode = MODE.LOCALMULTIPLAYER;
 			finished = true;
 		}
+		if (keycode == Input.Keys.NUM_4) {
+			mode = MODE.DRILL;
+			finished = true;
+		}
 		
 		return false;
 	}
@@ -16,6 +16,8 @@ import de.redlion.badminton.opponent.NetworkOpponent;
 import de.redlion.badminton.opponent.Opponent;
 import de.redlion.badminton.render.RenderDebug;
 import de.redlion.badminton.render.RenderStadium;
+import de.redlion.badminton.simulation.NetworkMultiPlayerSimulation;
+import de.redlion.badminton.simulation.Simulation;
 
 public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 
@@ -39,6 +41,9 @@ public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 	boolean finished = false;
 
 	float delta;
+	
+	Simulation simulation;
+	SimulationClock clock = new SimulationClock(1.0f / Configuration.getInstance().simulationRate);
 
 	public NetworkMultiPlayerGameScreen(Game game) {
 		super(game);
@@ -50,8 +55,10 @@ public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 		//refresh references 
 		//TODO Observer Pattern for newGame
 		opponent = GameSession.getInstance().opponent;
-		renderStadium = new RenderStadium();
-		renderDebug = new RenderDebug();
+		simulation = new NetworkMultiPlayerSimulation(GameSession.getInstance());
+		birdie.listener = new HitLogger();
+		renderStadium = new RenderStadium(GameSession.getInstance());
+		renderDebug = new RenderDebug(GameSession.getInstance());
 		
 		Gdx.input.setInputProcessor(new SinglePlayerControls(player));
 
@@ -102,15 +109,14 @@ public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 	public void show() {
 	}
 	
-	private float deltaCount = 0;	
 	@Override
 	public void render(float deltaTime) {
-		deltaCount += deltaTime;
-		if(deltaCount > 0.01) {
-			deltaCount = 0;
+		clock.advance(deltaTime);
+		while(clock.step()) {
 			Network.getInstance().update();
-			renderFrame(0.02f);
+			simulation.step(clock.timeStep);
 		}
+		renderFrame(deltaTime);
 	}
 
 	public void renderFrame(float deltaTime) {
@@ -120,9 +126,6 @@ public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 		startTime += delta;
 
 		cam.update();
-
-		collisionTest();
-		updateAI();
 		
 		cam.position.set(0, 20f, 45f);
 		cam.lookAt(0, 0.0f, GameSession.getInstance().birdie.currentPosition.y / 10);
@@ -130,7 +133,7 @@ public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 		cam.near = 0.5f;
 		cam.far = 100f;
 		renderStadium.updateCamera(cam);
-		renderStadium.render();
+		renderStadium.render(delta, clock.alpha());
 
 		batch.begin();
 		font.drawMultiLine(batch, "Network connected: " + Network.getInstance().connected + 
@@ -162,40 +165,6 @@ public class NetworkMultiPlayerGameScreen extends DefaultScreen {
 		}
 	}
 
-	private void updateAI() {	
-		
-		if (birdie.state == Birdie.STATE.HELD && player.position.dst(birdie.currentPosition) < 1.3f)
-			player.state = Player.STATE.AIMING;
-		player.update();
-		birdie.update();
-		opponent.update();
-
-		if (opponent.position.dst(birdie.currentPosition) < 1.0f
-				&& birdie.state != Birdie.STATE.HITBYOPPONENT) {
-			birdie.state = Birdie.STATE.HITBYOPPONENT;  //TODO quote-unquote to test movements
-			birdie.hit(opponent, false);
-			
-			opponent.switchState();
-		}
-	}
-
-	private void collisionTest() {
-		if(birdie.state == Birdie.STATE.HELD) {
-			return;
-		}
-
-		// check if player is in aiming mode and could hit birdie
-		if (player.state == Player.STATE.AIMING
-				&& player.position.dst(birdie.currentPosition) < 1.8f
-				&& birdie.state != Birdie.STATE.HIT) {
-			birdie.state = Birdie.STATE.HIT;
-			birdie.hit(player, true);
-			
-			player.switchState();
-		}
-
-	}
-
 	@Override
 	public void hide() {
 	}
@@ -1,6 +1,5 @@
 package de.redlion.badminton;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
@@ -26,12 +25,38 @@ public class Player {
 
 	final static float SPEED = 8;
 	final static float MOMENTUM = 0.85f;
+	final static float FRICTION = 0.8f;
+	//velocity is kept in units per tick at this rate, momentum and friction are per tick factors
+	final static float REFERENCE_RATE = 60;
+
+	//directions are only read, update() copies them into direction instead of allocating
+	final static Vector3 NONE = new Vector3(0, 0, 0);
+	final static Vector3 MOVE_LEFT = new Vector3(-1, 0, 0);
+	final static Vector3 MOVE_RIGHT = new Vector3(1, 0, 0);
+	final static Vector3 MOVE_UP = new Vector3(0, 0, -1);
+	final static Vector3 MOVE_DOWN = new Vector3(0, 0, 1);
+	final static Vector3 MOVE_DOWNLEFT = new Vector3(-1, 0, 1);
+	final static Vector3 MOVE_UPLEFT = new Vector3(-1, 0, -1);
+	final static Vector3 MOVE_DOWNRIGHT = new Vector3(1, 0, 1);
+	final static Vector3 MOVE_UPRIGHT = new Vector3(1, 0, -1);
+	final static Vector3 AIM_UP = new Vector3(0, -1, 0);
+	final static Vector3 AIM_DOWN = new Vector3(0, 1, 0);
+	final static Vector3 AIM_DOWNLEFT = new Vector3(-1, 1, 0);
+	final static Vector3 AIM_UPLEFT = new Vector3(-1, -1, 0);
+	final static Vector3 AIM_DOWNRIGHT = new Vector3(1, 1, 0);
+	final static Vector3 AIM_UPRIGHT = new Vector3(1, -1, 0);
+	//direction of every moving state, indexed by STATE ordinal
+	final static Vector3[] MOVE_DIRECTIONS = {
+		NONE, MOVE_UP, MOVE_DOWN, MOVE_LEFT, MOVE_RIGHT, MOVE_DOWNLEFT, MOVE_UPLEFT, MOVE_DOWNRIGHT, MOVE_UPRIGHT
+	};
 	
 	public SIDE side = SIDE.BOTTOM;
 	
 	public Vector3 direction = new Vector3(0, 0, 0);
 	public Vector3 lastDirection = new Vector3(0, 0, 0);
 	public Vector3 position = new Vector3(-2, 0, 7);
+	//position before the last update, for interpolated rendering
+	public Vector3 previousPosition = new Vector3(-2, 0, 7);
 	public Vector3 velocity = new Vector3(0, 0, 0);
 	public STATE state = STATE.IDLE;
 	public AIMING aiming = AIMING.IDLE;
@@ -52,108 +77,114 @@ public class Player {
 			state = STATE.AIMING;
 		}
 		if(side == SIDE.TOP) {
-			position = new Vector3(0, 0, -3);
+			position.set(0, 0, -3);
 		}
+		previousPosition.set(position);
 		input = new PlayerOneControlMappings();
 	}
 
-	public void update() {
-		keyframeAnimTime += Gdx.graphics.getDeltaTime() * 1f;
+	public void update(MatchContext match, float delta) {
+		previousPosition.set(position);
+		
+		keyframeAnimTime += delta * 1f;
+		
+		borders = match.borders;
 		
-		borders = GameSession.getInstance().borders;
+		float ticks = delta * REFERENCE_RATE;
 		
 		if(state != STATE.AIMING) {
 			
 			if (state == STATE.LEFT) {
-				position.x = position.x - Gdx.graphics.getDeltaTime() * SPEED + velocity.x;
-				position.z += velocity.z;
-				if(diagonalTime > 1.0f && (direction.idt(new Vector3(-1,1,0)) || direction.idt(new Vector3(-1,-1,0)))) {
-					direction = new Vector3(-1, 0, 0);
+				position.x = position.x - delta * SPEED + velocity.x * ticks;
+				position.z += velocity.z * ticks;
+				if(diagonalTime > 1.0f && (direction.idt(AIM_DOWNLEFT) || direction.idt(AIM_UPLEFT))) {
+					direction.set(MOVE_LEFT);
 					diagonalTime = -1;
 				}
-				else if (!direction.idt(new Vector3(-1,1,0)) && !direction.idt(new Vector3(-1,-1,0)))
-					direction = new Vector3(-1, 0, 0);
+				else if (!direction.idt(AIM_DOWNLEFT) && !direction.idt(AIM_UPLEFT))
+					direction.set(MOVE_LEFT);
 			}
 			if (state == STATE.RIGHT) {
-				position.x = position.x + Gdx.graphics.getDeltaTime() * SPEED + velocity.x;
-				position.z += velocity.z;
-				if(diagonalTime > 1.0f && (direction.idt(new Vector3(1,1,0)) || direction.idt(new Vector3(1,-1,0)))) {
-					direction = new Vector3(1, 0, 0);
+				position.x = position.x + delta * SPEED + velocity.x * ticks;
+				position.z += velocity.z * ticks;
+				if(diagonalTime > 1.0f && (direction.idt(AIM_DOWNRIGHT) || direction.idt(AIM_UPRIGHT))) {
+					direction.set(MOVE_RIGHT);
 					diagonalTime = -1;
 				}
-				else if(!direction.idt(new Vector3(1,1,0)) && !direction.idt(new Vector3(1,-1,0)))
-					direction = new Vector3(1, 0, 0);
+				else if(!direction.idt(AIM_DOWNRIGHT) && !direction.idt(AIM_UPRIGHT))
+					direction.set(MOVE_RIGHT);
 			}
 			if (state == STATE.UP) {
-				position.x += velocity.x;
-				position.z = position.z - Gdx.graphics.getDeltaTime() * SPEED * 2 + velocity.z;
-				if(diagonalTime > 1.0f && (direction.idt(new Vector3(-1,-1,0)) || direction.idt(new Vector3(1,-1,0)))) {
-					direction = new Vector3(0, 0, -1);
+				position.x += velocity.x * ticks;
+				position.z = position.z - delta * SPEED * 2 + velocity.z * ticks;
+				if(diagonalTime > 1.0f && (direction.idt(AIM_UPLEFT) || direction.idt(AIM_UPRIGHT))) {
+					direction.set(MOVE_UP);
 					diagonalTime = -1;
 				}
-				else if(!direction.idt(new Vector3(-1,-1,0)) && !direction.idt(new Vector3(1,-1,0))) {
-					direction = new Vector3(0, 0, -1);
+				else if(!direction.idt(AIM_UPLEFT) && !direction.idt(AIM_UPRIGHT)) {
+					direction.set(MOVE_UP);
 				}
 			}
 			if (state == STATE.DOWN) {
-				position.x += velocity.x;
-				position.z = position.z + Gdx.graphics.getDeltaTime() * SPEED * 2 + velocity.z;
-				if(diagonalTime > 1.0f && (direction.idt(new Vector3(-1,1,0)) || direction.idt(new Vector3(1,1,0)))) {
-					direction = new Vector3(0, 0, 1);
+				position.x += velocity.x * ticks;
+				position.z = position.z + delta * SPEED * 2 + velocity.z * ticks;
+				if(diagonalTime > 1.0f && (direction.idt(AIM_DOWNLEFT) || direction.idt(AIM_DOWNRIGHT))) {
+					direction.set(MOVE_DOWN);
 					diagonalTime = -1;
 				}
-				else if(!direction.idt(new Vector3(-1,1,0)) && !direction.idt(new Vector3(1,1,0)))
-					direction = new Vector3(0, 0, 1);
+				else if(!direction.idt(AIM_DOWNLEFT) && !direction.idt(AIM_DOWNRIGHT))
+					direction.set(MOVE_DOWN);
 			}
 			if (state == STATE.DOWNLEFT) {
-				position.x = position.x - Gdx.graphics.getDeltaTime() * SPEED + velocity.x;
-				position.z = position.z + Gdx.graphics.getDeltaTime() * SPEED*2 + velocity.z;
-				direction = new Vector3(-1, 0, 1);
+				position.x = position.x - delta * SPEED + velocity.x * ticks;
+				position.z = position.z + delta * SPEED*2 + velocity.z * ticks;
+				direction.set(MOVE_DOWNLEFT);
 				diagonalTime = 0;
 			}
 			if (state == STATE.UPLEFT) {
-				position.x = position.x - Gdx.graphics.getDeltaTime() * SPEED + velocity.x;
-				position.z = position.z - Gdx.graphics.getDeltaTime() * SPEED*2 + velocity.z;
-				direction = new Vector3(-1, 0, -1);
+				position.x = position.x - delta * SPEED + velocity.x * ticks;
+				position.z = position.z - delta * SPEED*2 + velocity.z * ticks;
+				direction.set(MOVE_UPLEFT);
 				diagonalTime = 0;
 			}
 			if (state == STATE.DOWNRIGHT) {
-				position.x = position.x + Gdx.graphics.getDeltaTime() * SPEED + velocity.x;
-				position.z = position.z + Gdx.graphics.getDeltaTime() * SPEED*2 + velocity.z;
-				direction = new Vector3(1, 0, 1);
+				position.x = position.x + delta * SPEED + velocity.x * ticks;
+				position.z = position.z + delta * SPEED*2 + velocity.z * ticks;
+				direction.set(MOVE_DOWNRIGHT);
 				diagonalTime = 0;
 			}
 			if (state == STATE.UPRIGHT) {
-				position.x = position.x + Gdx.graphics.getDeltaTime() * SPEED + velocity.x;
-				position.z = position.z - Gdx.graphics.getDeltaTime() * SPEED*2 + velocity.z;
-				direction = new Vector3(1, 0, -1);
+				position.x = position.x + delta * SPEED + velocity.x * ticks;
+				position.z = position.z - delta * SPEED*2 + velocity.z * ticks;
+				direction.set(MOVE_UPRIGHT);
 				diagonalTime = 0;
 			}
 			if (state == STATE.IDLE) {
 				aimTime=1;
 				
-				velocity.mul(MOMENTUM);
-				position.x += velocity.x;
-				position.z += velocity.z;
+				position.x += velocity.x * travel(MOMENTUM, ticks);
+				position.z += velocity.z * travel(MOMENTUM, ticks);
+				velocity.mul(decay(MOMENTUM, ticks));
 				
 				if(diagonalTime > 0.0f)
-					diagonalTime -= Gdx.graphics.getDeltaTime() / 2;
+					diagonalTime -= delta / 2;
 				else
 					diagonalTime = 0;
 				
 				if(Math.abs(velocity.x) < 0.01f && Math.abs(velocity.z) < 0.01f) {
-					direction = new Vector3(0, 0, 0);
-					velocity = new Vector3(0, 0, 0);
+					direction.set(NONE);
+					velocity.set(0, 0, 0);
 					moveTime = 0.0f;
 				}
 			}
 			else {
-				moveTime += Gdx.graphics.getDeltaTime();
-				velocity.add(direction.cpy().mul(Gdx.graphics.getDeltaTime()  * moveTime * 0.5f));
+				moveTime += delta;
+				float push = delta * moveTime * 0.5f;
+				velocity.add(direction.x * push, direction.y * push, direction.z * push);
 				if(direction.x == 0 && state != STATE.DOWNLEFT && state != STATE.DOWNRIGHT && state != STATE.UPRIGHT && state != STATE.UPLEFT)
-					velocity.x *= 0.8f;
+					velocity.x *= decay(FRICTION, ticks);
 				if(direction.z == 0 && state != STATE.DOWNLEFT && state != STATE.DOWNRIGHT && state != STATE.UPRIGHT && state != STATE.UPLEFT)
-					velocity.z *= 0.8f;
+					velocity.z *= decay(FRICTION, ticks);
 				if(Math.abs(velocity.x) > 0.05f)
 					velocity.x = Math.signum(velocity.x) * 0.05f;
 				if(Math.abs(velocity.y) > 0.1f)
@@ -166,83 +197,198 @@ public class Player {
 			
 		}
 		if(state == STATE.AIMING) {
-			aimTime += Gdx.graphics.getDeltaTime() / 3;
+			aimTime += delta / 3;
 			
-			if(aiming != AIMING.IDLE)
-				velocity.mul(0.8f);
+			//the velocity slows down over the step, so it covers less than velocity * ticks
+			float step = aiming != AIMING.IDLE ? travel(FRICTION, ticks) : ticks;
 			
 			if(diagonalTime > 0.0f)
-				diagonalTime -= Gdx.graphics.getDeltaTime();
+				diagonalTime -= delta;
 			else
 				diagonalTime = 0;
 			
 			if (aiming == AIMING.LEFT) {
-				direction = new Vector3(-1, 0, 0);
-				position.x = position.x - Gdx.graphics.getDeltaTime() * 0.5f + velocity.x;
-				position.z += velocity.z;
+				direction.set(MOVE_LEFT);
+				position.x = position.x - delta * 0.5f + velocity.x * step;
+				position.z += velocity.z * step;
 			}
 			if (aiming == AIMING.RIGHT) {
-				direction = new Vector3(1, 0, 0);
-				position.x = position.x + Gdx.graphics.getDeltaTime() * 0.5f + velocity.x;
-				position.z += velocity.z;
+				direction.set(MOVE_RIGHT);
+				position.x = position.x + delta * 0.5f + velocity.x * step;
+				position.z += velocity.z * step;
 			}
 			if (aiming == AIMING.UP) {
-				direction = new Vector3(0, -1, 0);
-				position.z += velocity.x;
-				position.z = position.z - Gdx.graphics.getDeltaTime() * 0.5f + velocity.z;
+				direction.set(AIM_UP);
+				position.z += velocity.x * step;
+				position.z = position.z - delta * 0.5f + velocity.z * step;
 			}
 			if (aiming == AIMING.DOWN) {
-				direction = new Vector3(0, 1, 0);
-				position.z += velocity.x;
-				position.z = position.z + Gdx.graphics.getDeltaTime() * 0.5f + velocity.z;
+				direction.set(AIM_DOWN);
+				position.z += velocity.x * step;
+				position.z = position.z + delta * 0.5f + velocity.z * step;
 			}
 			if (aiming == AIMING.DOWNLEFT) {
-				direction = new Vector3(-1, 1, 0);
-				position.x = position.x - Gdx.graphics.getDeltaTime() * 0.4375f + velocity.x;
-				position.z = position.z + Gdx.graphics.getDeltaTime() * 0.4375f + velocity.z;
+				direction.set(AIM_DOWNLEFT);
+				position.x = position.x - delta * 0.4375f + velocity.x * step;
+				position.z = position.z + delta * 0.4375f + velocity.z * step;
 			}
 			if (aiming == AIMING.UPLEFT) {
-				direction = new Vector3(-1, -1, 0);
-				position.x = position.x - Gdx.graphics.getDeltaTime() * 0.4375f + velocity.x;
-				position.z = position.z - Gdx.graphics.getDeltaTime() * 0.4375f + velocity.z;
+				direction.set(AIM_UPLEFT);
+				position.x = position.x - delta * 0.4375f + velocity.x * step;
+				position.z = position.z - delta * 0.4375f + velocity.z * step;
 			}
 			if (aiming == AIMING.DOWNRIGHT) {
-				direction = new Vector3(1, 1, 0);
-				position.x = position.x + Gdx.graphics.getDeltaTime() * 0.4375f + velocity.x;
-				position.z = position.z + Gdx.graphics.getDeltaTime() * 0.4375f + velocity.z;
+				direction.set(AIM_DOWNRIGHT);
+				position.x = position.x + delta * 0.4375f + velocity.x * step;
+				position.z = position.z + delta * 0.4375f + velocity.z * step;
 			}
 			if (aiming == AIMING.UPRIGHT) {
-				direction = new Vector3(1, -1, 0);
-				position.x = position.x + Gdx.graphics.getDeltaTime() * 0.4375f + velocity.x;
-				position.z = position.z - Gdx.graphics.getDeltaTime() * 0.4375f + velocity.z;
+				direction.set(AIM_UPRIGHT);
+				position.x = position.x + delta * 0.4375f + velocity.x * step;
+				position.z = position.z - delta * 0.4375f + velocity.z * step;
 			}
 			
+			if(aiming != AIMING.IDLE)
+				velocity.mul(decay(FRICTION, ticks));
+			
 			if(aiming == AIMING.IDLE) {
 				
-				velocity.mul(MOMENTUM);
-				position.x += velocity.x;
-				position.z += velocity.z;
+				position.x += velocity.x * travel(MOMENTUM, ticks);
+				position.z += velocity.z * travel(MOMENTUM, ticks);
+				velocity.mul(decay(MOMENTUM, ticks));
 				
 				if(Math.abs(velocity.x) < 0.01f && Math.abs(velocity.z) < 0.01f) {
-					direction = new Vector3(0, 0, 0);
-					velocity = new Vector3(0, 0, 0);
+					direction.set(NONE);
+					velocity.set(0, 0, 0);
 					moveTime = 0.0f;
 				}
 			}
 			
 			if(Math.abs(velocity.x) < 0.01f && Math.abs(velocity.z) < 0.01f) {
-				direction = new Vector3(0, 0, 0);
-				velocity = new Vector3(0, 0, 0);
+				direction.set(NONE);
+				velocity.set(0, 0, 0);
 				moveTime = 0.0f;
 			}	
 			
 		}
 		else if(state != STATE.IDLE && state != STATE.DOWNLEFT && state != STATE.UPRIGHT && state != STATE.UPLEFT && state != STATE.DOWNRIGHT) {
 			if(diagonalTime != -1 )
-				diagonalTime += Gdx.graphics.getDeltaTime() * 14;
+				diagonalTime += delta * 14;
+		}
+		
+		keepInside();
+	}
+	
+	/**
+	 * Same as calling update(match, delta) the given number of times while the state stays IDLE or
+	 * one of the moving states, but in closed form: the pushes add up to sums over the ticks, momentum
+	 * and friction to decay and travel. Only splits where the push stops growing, the sideways speed
+	 * limit kicks in or the player comes to a stop. Positions and velocities agree with update() up to
+	 * float rounding as long as the player doesn't run into the borders on the way. The sliding of
+	 * diagonalTime isn't replayed, previousPosition is where the player was before the first tick.
+	 */
+	public void glide(MatchContext match, int ticks, float delta) {
+		if(state == STATE.AIMING)
+			throw new IllegalStateException("Can't glide while aiming");
+		
+		previousPosition.set(position);
+		keyframeAnimTime += delta * ticks;
+		borders = match.borders;
+		
+		float step = delta * REFERENCE_RATE;
+		
+		if(state == STATE.IDLE) {
+			aimTime = 1;
+			
+			//update() stops the player in the first tick that leaves both axes below 0.01
+			float fastest = Math.max(Math.abs(velocity.x), Math.abs(velocity.z));
+			int stop = fastest < 0.01f ? 1 : (int) (Math.log(0.01f / fastest) / Math.log(decay(MOMENTUM, step))) + 1;
+			int moving = Math.min(ticks, stop);
+			position.x += velocity.x * travel(MOMENTUM, step * moving);
+			position.z += velocity.z * travel(MOMENTUM, step * moving);
+			velocity.mul(decay(MOMENTUM, step * moving));
+			
+			if(stop <= ticks) {
+				direction.set(NONE);
+				velocity.set(0, 0, 0);
+				moveTime = 0.0f;
+			}
+			keepInside();
+			return;
 		}
 		
-		//Out of bounds?
+		direction.set(MOVE_DIRECTIONS[state.ordinal()]);
+		float friction = decay(FRICTION, step);
+		
+		while(ticks > 0) {
+			//tick j pushes by push + growth * j until moveTime is capped at 0.5, then by the same each tick
+			int growing = moveTime < 0.5f ? (int) ((0.5f - moveTime) / delta) + 1 : 0;
+			int n = growing > 0 ? Math.min(ticks, growing) : ticks;
+			float push = growing > 0 ? 0.5f * delta * moveTime : 0.5f * delta * (0.5f + delta);
+			float growth = growing > 0 ? 0.5f * delta * delta : 0;
+			
+			//the first tick that gets past the sideways speed limit ends the stretch
+			boolean limited = false;
+			if(direction.x != 0 && direction.x * velocity.x < 0.05f && direction.x * velocity.x + pushes(push, growth, n) > 0.05f) {
+				int low = 1;
+				int high = n;
+				while(low < high) {
+					int mid = (low + high) >>> 1;
+					if(direction.x * velocity.x + pushes(push, growth, mid) > 0.05f)
+						high = mid;
+					else
+						low = mid + 1;
+				}
+				n = low;
+				limited = true;
+			}
+			
+			if(direction.x == 0) {
+				position.x += velocity.x * step * (1 - decay(FRICTION, step * n)) / (1 - friction);
+				velocity.x *= decay(FRICTION, step * n);
+			} else if(direction.x * velocity.x >= 0.05f) {
+				position.x += n * (direction.x * SPEED * delta + velocity.x * step);
+			} else {
+				position.x += n * direction.x * SPEED * delta + (n * velocity.x + direction.x * pushed(push, growth, n)) * step;
+				velocity.x = limited ? direction.x * 0.05f : velocity.x + direction.x * pushes(push, growth, n);
+			}
+			
+			if(direction.z == 0) {
+				position.z += velocity.z * step * (1 - decay(FRICTION, step * n)) / (1 - friction);
+				velocity.z *= decay(FRICTION, step * n);
+			} else {
+				position.z += n * direction.z * SPEED * 2 * delta + (n * velocity.z + direction.z * pushed(push, growth, n)) * step;
+				velocity.z += direction.z * pushes(push, growth, n);
+			}
+			
+			moveTime = Math.min(0.5f, moveTime + n * delta);
+			ticks -= n;
+		}
+		keepInside();
+	}
+	
+	/** velocity the pushes of n ticks add up to, tick j pushing by push + growth * j */
+	static float pushes(float push, float growth, int n) {
+		return push * n + growth * n * (n + 1) / 2f;
+	}
+	
+	/** distance, in ticks of velocity, the pushes of n ticks add since each tick moves before it pushes */
+	static float pushed(float push, float growth, int n) {
+		return push * n * (n - 1) / 2f + growth * (n - 1) * n * (n + 1) / 6f;
+	}
+	
+	/**
+	 * Farthest one update(match, delta) can move the player during the next ticks updates, whatever
+	 * the state: full speed on both axes plus the velocity and all the pushes it can still get.
+	 */
+	public float maxStep(float delta, int ticks) {
+		float step = delta * REFERENCE_RATE;
+		float push = 0.5f * delta * (0.5f + delta);
+		return SPEED * 3 * delta + (Math.abs(velocity.x) + Math.abs(velocity.z) + 2 * ticks * push) * step;
+	}
+	
+	/** Out of bounds? */
+	void keepInside() {
 		if (side == SIDE.BOTTOM) {
 			if (position.z < 1.5f) {
 				position.z = 1.5f;
@@ -267,9 +413,22 @@ public class Player {
 		if (position.x < borders.min.x + 1.5f) {
 			position.x = borders.min.x + 1.5f;
 		}
-
 	}
 	
+	/** what's left of a velocity after decaying by factor per reference tick for the given ticks */
+	static float decay(float factor, float ticks) {
+		return (float) Math.pow(factor, ticks);
+	}
+
+	/**
+	 * Distance covered in the given ticks by a velocity that decays by factor per reference tick,
+	 * in multiples of the velocity. It's the sum factor + factor^2 + ... + factor^ticks continued
+	 * to fractional ticks, so stepping 1/120s twice moves as far as one 1/60s step.
+	 */
+	static float travel(float factor, float ticks) {
+		return factor * (1 - decay(factor, ticks)) / (1 - factor);
+	}
+
 	public void switchState() {
 		if(this.state == STATE.AIMING) {
 			int tmp = this.aiming.ordinal();
@@ -0,0 +1,41 @@
+package de.redlion.badminton;
+
+/**
+ * Fixed timestep clock for the game simulation. The screens feed in the real
+ * frame time and step the simulation as long as {@link #step()} returns true,
+ * the leftover time is used to interpolate the rendered state.
+ */
+public class SimulationClock {
+
+	//don't try to catch up more than this after a hiccup
+	static final float MAX_FRAME_TIME = 0.25f;
+
+	public final float timeStep;
+
+	float accumulator = 0;
+
+	public SimulationClock(float timeStep) {
+		//a step of 0 or less would never use up the accumulator and keep the screen stepping forever
+		if(!(timeStep > 0) || Float.isInfinite(timeStep))
+			throw new IllegalArgumentException("time step must be positive and finite: " + timeStep);
+		this.timeStep = timeStep;
+	}
+
+	public void advance(float deltaTime) {
+		accumulator += Math.min(deltaTime, MAX_FRAME_TIME);
+	}
+
+	public boolean step() {
+		if(accumulator >= timeStep) {
+			accumulator -= timeStep;
+			return true;
+		}
+		return false;
+	}
+
+	/** how far the rendered frame is between the last and the next simulation step, 0..1 */
+	public float alpha() {
+		return accumulator / timeStep;
+	}
+
+}
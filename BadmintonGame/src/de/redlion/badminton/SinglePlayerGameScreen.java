@@ -1,7 +1,10 @@
 package de.redlion.badminton;
 
+import java.io.IOException;
+
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.PerspectiveCamera;
 import com.badlogic.gdx.graphics.Texture;
@@ -13,9 +16,14 @@ import com.badlogic.gdx.math.Vector3;
 
 import de.redlion.badminton.controls.SinglePlayerControls;
 import de.redlion.badminton.opponent.AIOpponent;
+import de.redlion.badminton.opponent.AIWorker;
 import de.redlion.badminton.opponent.Opponent;
+import de.redlion.badminton.opponent.PolicyTable;
+import de.redlion.badminton.opponent.ShotSearch;
 import de.redlion.badminton.render.RenderDebug;
 import de.redlion.badminton.render.RenderStadium;
+import de.redlion.badminton.simulation.SinglePlayerSimulation;
+import de.redlion.badminton.simulation.Simulation;
 
 public class SinglePlayerGameScreen extends DefaultScreen {
 
@@ -34,11 +42,15 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 	Player player = GameSession.getInstance().player;
 	Birdie birdie = GameSession.getInstance().birdie;
 	AIOpponent opponent;
+	ShotSearch search;
 
 	float fade = 1.0f;
 	boolean finished = false;
 
 	float delta;
+	
+	Simulation simulation;
+	SimulationClock clock = new SimulationClock(1.0f / Configuration.getInstance().simulationRate);
 
 	public SinglePlayerGameScreen(Game game) {
 		super(game);
@@ -48,8 +60,14 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 		//refresh references 
 		//TODO Observer Pattern for newGame
 		opponent = (AIOpponent) GameSession.getInstance().opponent;
-		renderStadium = new RenderStadium();
-		renderDebug = new RenderDebug();
+		simulation = new SinglePlayerSimulation(GameSession.getInstance());
+		search = new ShotSearch();
+		search.budget = Configuration.getInstance().aiSearchBudget;
+		search.difficulty = Configuration.getInstance().aiDifficulty;
+		opponent.policy = loadPolicy();
+		birdie.listener = new HitLogger();
+		renderStadium = new RenderStadium(GameSession.getInstance());
+		renderDebug = new RenderDebug(GameSession.getInstance());
 		
 		Gdx.input.setInputProcessor(new SinglePlayerControls(player));
 
@@ -70,6 +88,24 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 		initRender();
 	}
 
+	/** the precomputed aims for the configured difficulty, or null to search for them instead */
+	PolicyTable loadPolicy() {
+		String path = Configuration.getInstance().aiPolicyTable;
+		FileHandle file = path.length() > 0 ? Gdx.files.absolute(path)
+				: Gdx.files.internal(PolicyTable.assetName(Configuration.getInstance().aiDifficulty));
+		if(!file.exists())
+			return null;
+		try {
+			//assets packed into an apk or jar can't be mapped and are read instead
+			if(file.file().exists())
+				return PolicyTable.map(file.file());
+			return PolicyTable.read(file.readBytes(), file.path());
+		} catch(IOException e) {
+			Gdx.app.error("AI", "Searching instead of using " + file.path(), e);
+			return null;
+		}
+	}
+
 	public void initRender() {
 		Gdx.graphics.getGL20().glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 		Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
@@ -90,16 +126,18 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 
 	@Override
 	public void show() {
+		//with a policy table the worker only plans, the table does the aiming
+		opponent.worker = new AIWorker(opponent.side, opponent.policy == null ? search : null);
+		opponent.worker.start();
 	}
 	
-	private float deltaCount = 0;	
 	@Override
 	public void render(float deltaTime) {
-		deltaCount += deltaTime;
-		if(deltaCount > 0.01) {
-			deltaCount = 0;
-			renderFrame(0.02f);
+		clock.advance(deltaTime);
+		while(clock.step()) {
+			simulation.step(clock.timeStep);
 		}
+		renderFrame(deltaTime);
 	}
 
 	public void renderFrame(float deltaTime) {
@@ -109,9 +147,6 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 		startTime += delta;
 
 		cam.update();
-
-		collisionTest();
-		updateAI();
 		
 		cam.position.set(0, 26f, 58f);
 		cam.fieldOfView = 14;
@@ -121,7 +156,7 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 		cam.far = 1000f;
 		renderStadium.updateCamera(cam);
 		if(!Configuration.getInstance().debug) {
-			renderStadium.render();
+			renderStadium.render(delta, clock.alpha());
 		}
 
 		batch.begin();
@@ -131,6 +166,15 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 
 		if (Configuration.getInstance().debug) {
 			renderDebug.render(cam);
+			
+			batch.begin();
+			if(opponent.policy != null) {
+				font.draw(batch, "AI policy table", 20, 30);
+			} else {
+				font.draw(batch, "AI depth " + search.depth + " " + search.micros + "us (max "
+						+ search.maxMicros + "us)", 20, 30);
+			}
+			batch.end();
 		}
 
 		// FadeInOut
@@ -156,48 +200,19 @@ public class SinglePlayerGameScreen extends DefaultScreen {
 		}
 	}
 
-	private void updateAI() {
-		player.update();
-		birdie.update();
-		opponent.update(player.position);
-
-		if (opponent.position.dst(birdie.currentPosition) < 4.0f
-				&& birdie.state != Birdie.STATE.HITBYOPPONENT) {
-
-			int randomAim = MathUtils.random(0, 3);
-			if(randomAim == 0) opponent.aiming = Player.AIMING.LEFT;
-			if(randomAim == 1) opponent.aiming = Player.AIMING.RIGHT;
-			if(randomAim == 2) opponent.aiming = Player.AIMING.UPLEFT;
-			if(randomAim == 3) opponent.aiming = Player.AIMING.UPRIGHT;
-			
-			birdie.hit(opponent,false);
-			
-			opponent.switchState();
-		}
-	}
-
-	private void collisionTest() {
-		if(birdie.state == Birdie.STATE.HELD) {
-			return;
-		}
-
-		// check if player is in aiming mode and could hit birdie
-		if (player.state == Player.STATE.AIMING
-				&& player.position.dst(birdie.currentPosition) < 4.0f
-				&& birdie.state != Birdie.STATE.HIT) {
-			birdie.hit(player, false);
-			
-			player.switchState();
-		}
-
-	}
-
 	@Override
 	public void hide() {
+		//Game.setScreen only hides the old screen, so the worker has to stop here
+		if(opponent.worker != null) {
+			opponent.worker.dispose();
+			opponent.worker = null;
+		}
 	}
 
 	@Override
 	public void dispose() {
+		hide();
+		super.dispose();
 	}
 
 }
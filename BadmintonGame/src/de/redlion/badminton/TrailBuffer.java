@@ -0,0 +1,62 @@
+package de.redlion.badminton;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Fixed size ring buffer of timestamped positions, used for the birdie's trail.
+ * When it is full the oldest sample gets overwritten, so memory stays the
+ * same no matter how long the trail gets. Reading doesn't allocate.
+ */
+public class TrailBuffer {
+
+	//x, y, z, time
+	static final int STRIDE = 4;
+
+	final float[] samples;
+	final int capacity;
+	int head = 0;
+	int size = 0;
+
+	public TrailBuffer(int capacity) {
+		this.capacity = capacity;
+		samples = new float[capacity * STRIDE];
+	}
+
+	public void add(Vector3 position, float time) {
+		int i = head * STRIDE;
+		samples[i] = position.x;
+		samples[i + 1] = position.y;
+		samples[i + 2] = position.z;
+		samples[i + 3] = time;
+		head = (head + 1) % capacity;
+		if(size < capacity)
+			size++;
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** sample i, 0 is the oldest */
+	public Vector3 get(int i, Vector3 out) {
+		int j = index(i);
+		return out.set(samples[j], samples[j + 1], samples[j + 2]);
+	}
+
+	/** time stamp of sample i, 0 is the oldest */
+	public float time(int i) {
+		return samples[index(i) + 3];
+	}
+
+	int index(int i) {
+		if(i < 0 || i >= size)
+			throw new IndexOutOfBoundsException("index can't be >= size: " + i + " >= " + size);
+		return ((head - size + i + capacity) % capacity) * STRIDE;
+	}
+
+}
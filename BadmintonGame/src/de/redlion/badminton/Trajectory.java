@@ -0,0 +1,244 @@
+package de.redlion.badminton;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Cubic bezier flight curve of the birdie in power basis, p(t) = a*t^3 + b*t^2 + c*t + d.
+ * The coefficients are computed once per hit, evaluation writes into the given vectors
+ * and doesn't allocate anything. Every set() also tabulates the arc length at evenly
+ * spaced t, so the birdie can move along the curve at a constant speed in world units.
+ */
+public class Trajectory {
+
+	final Vector3 a = new Vector3();
+	final Vector3 b = new Vector3();
+	final Vector3 c = new Vector3();
+	final Vector3 d = new Vector3();
+
+	static final int SAMPLES = 64;
+	final Vector3 sample = new Vector3();
+
+	//arc length from t = 0 to t = i / ARC_SEGMENTS, chords of the curve
+	static final int ARC_SEGMENTS = 32;
+	final float[] arcLength = new float[ARC_SEGMENTS + 1];
+	final Vector3 previousSample = new Vector3();
+
+	public void set(Vector3 from, Vector3 via1, Vector3 via2, Vector3 to) {
+		a.x = -from.x + 3 * via1.x - 3 * via2.x + to.x;
+		a.y = -from.y + 3 * via1.y - 3 * via2.y + to.y;
+		a.z = -from.z + 3 * via1.z - 3 * via2.z + to.z;
+
+		b.x = 3 * from.x - 6 * via1.x + 3 * via2.x;
+		b.y = 3 * from.y - 6 * via1.y + 3 * via2.y;
+		b.z = 3 * from.z - 6 * via1.z + 3 * via2.z;
+
+		c.x = 3 * (via1.x - from.x);
+		c.y = 3 * (via1.y - from.y);
+		c.z = 3 * (via1.z - from.z);
+
+		d.set(from);
+
+		position(0, previousSample);
+		arcLength[0] = 0;
+		for(int i = 1; i <= ARC_SEGMENTS; i++) {
+			position(i / (float) ARC_SEGMENTS, sample);
+			arcLength[i] = arcLength[i - 1] + sample.dst(previousSample);
+			previousSample.set(sample);
+		}
+	}
+
+	/** length of the curve from t = 0 to t = 1 */
+	public float length() {
+		return arcLength[ARC_SEGMENTS];
+	}
+
+	/** arc length from t = 0 to t, past 1 the last segment is extended */
+	public float lengthAt(float t) {
+		float f = Math.max(0, t) * ARC_SEGMENTS;
+		int i = Math.min((int) f, ARC_SEGMENTS - 1);
+		return arcLength[i] + (f - i) * (arcLength[i + 1] - arcLength[i]);
+	}
+
+	/** t after moving the given distance along the curve from t = 0, inverse of lengthAt() */
+	public float parameterAt(float distance) {
+		if(distance <= 0)
+			return 0;
+		int lo = 0;
+		int hi = ARC_SEGMENTS;
+		if(distance < arcLength[ARC_SEGMENTS]) {
+			while(hi - lo > 1) {
+				int mid = (lo + hi) >>> 1;
+				if(arcLength[mid] <= distance)
+					lo = mid;
+				else
+					hi = mid;
+			}
+		} else {
+			lo = ARC_SEGMENTS - 1;
+		}
+		float segment = arcLength[hi] - arcLength[lo];
+		if(segment <= 0)
+			return hi / (float) ARC_SEGMENTS;
+		return (lo + (distance - arcLength[lo]) / segment) / ARC_SEGMENTS;
+	}
+
+	/** position on the curve at t */
+	public Vector3 position(float t, Vector3 out) {
+		out.x = ((a.x * t + b.x) * t + c.x) * t + d.x;
+		out.y = ((a.y * t + b.y) * t + c.y) * t + d.y;
+		out.z = ((a.z * t + b.z) * t + c.z) * t + d.z;
+		return out;
+	}
+
+	/** first derivative at t, not normalized */
+	public Vector3 tangent(float t, Vector3 out) {
+		out.x = (3 * a.x * t + 2 * b.x) * t + c.x;
+		out.y = (3 * a.y * t + 2 * b.y) * t + c.y;
+		out.z = (3 * a.z * t + 2 * b.z) * t + c.z;
+		return out;
+	}
+
+	/** second derivative at t, not normalized */
+	public Vector3 up(float t, Vector3 out) {
+		out.x = 6 * a.x * t + 2 * b.x;
+		out.y = 6 * a.y * t + 2 * b.y;
+		out.z = 6 * a.z * t + 2 * b.z;
+		return out;
+	}
+
+	/**
+	 * Positions at the first count parameters of t, written component wise into x, y and z.
+	 * Every component is one flat loop over primitive arrays that the JIT can unroll and
+	 * vectorize, so sampling many points is cheaper than calling position() for each.
+	 */
+	public void positions(float[] t, int count, float[] x, float[] y, float[] z) {
+		cubics(a.x, b.x, c.x, d.x, t, count, x);
+		cubics(a.y, b.y, c.y, d.y, t, count, y);
+		cubics(a.z, b.z, c.z, d.z, t, count, z);
+	}
+
+	/** first derivatives at the first count parameters of t, not normalized */
+	public void tangents(float[] t, int count, float[] x, float[] y, float[] z) {
+		quadratics(3 * a.x, 2 * b.x, c.x, t, count, x);
+		quadratics(3 * a.y, 2 * b.y, c.y, t, count, y);
+		quadratics(3 * a.z, 2 * b.z, c.z, t, count, z);
+	}
+
+	/** fills the first count entries of t with parameters evenly spread from 0 to 1 */
+	public static void spread(float[] t, int count) {
+		float step = count > 1 ? 1.0f / (count - 1) : 0;
+		for(int i = 0; i < count; i++) {
+			t[i] = i * step;
+		}
+	}
+
+	/** first t in [0, 1] where the curve is below the ground, -1 if it stays above */
+	public float groundCrossing() {
+		return firstBelow(a.y, b.y, c.y, d.y);
+	}
+
+	/** first t in [0, 1] where the curve crosses the net plane z = 0, -1 if it stays on one side */
+	public float netCrossing() {
+		if(d.z < 0)
+			return firstBelow(-a.z, -b.z, -c.z, -d.z);
+		return firstBelow(a.z, b.z, c.z, d.z);
+	}
+
+	/**
+	 * First t in (0, 1] where the curve comes closer than radius to the point, -1 if it doesn't.
+	 * Samples the curve and bisects the first step that ends inside.
+	 */
+	public float firstWithin(Vector3 point, float radius) {
+		float radius2 = radius * radius;
+		float lo = 0;
+		for(int i = 1; i <= SAMPLES; i++) {
+			float hi = i / (float) SAMPLES;
+			if(position(hi, sample).dst2(point) < radius2) {
+				if(i == 1)
+					return hi;
+				for(int j = 0; j < 16; j++) {
+					float mid = (lo + hi) / 2;
+					if(position(mid, sample).dst2(point) < radius2)
+						hi = mid;
+					else
+						lo = mid;
+				}
+				return hi;
+			}
+			lo = hi;
+		}
+		return -1;
+	}
+
+	/**
+	 * First t in [0, 1] where the cubic ((a*t + b)*t + c)*t + d gets negative, -1 if it doesn't.
+	 * Splits the curve at the roots of the derivative and bisects the first monotone piece
+	 * that changes its sign.
+	 */
+	static float firstBelow(float a, float b, float c, float d) {
+		if(d < 0)
+			return 0;
+
+		float lo = 0;
+		float hi = 1;
+		// roots of 3a*t^2 + 2b*t + c
+		float r1 = 2;
+		float r2 = 2;
+		if(a != 0) {
+			float disc = b * b - 3 * a * c;
+			if(disc >= 0) {
+				float sq = (float) Math.sqrt(disc);
+				r1 = (-b - sq) / (3 * a);
+				r2 = (-b + sq) / (3 * a);
+				if(r1 > r2) {
+					float tmp = r1;
+					r1 = r2;
+					r2 = tmp;
+				}
+			}
+		} else if(b != 0) {
+			r1 = -c / (2 * b);
+		}
+
+		for(int i = 0; i < 3; i++) {
+			float end = i == 0 ? r1 : (i == 1 ? r2 : 1);
+			if(end <= lo || end > 1) {
+				if(i < 2)
+					continue;
+				end = 1;
+			}
+			hi = end;
+			if(cubic(a, b, c, d, hi) < 0) {
+				for(int j = 0; j < 24; j++) {
+					float mid = (lo + hi) / 2;
+					if(cubic(a, b, c, d, mid) < 0)
+						hi = mid;
+					else
+						lo = mid;
+				}
+				return hi;
+			}
+			lo = hi;
+		}
+		return -1;
+	}
+
+	static float cubic(float a, float b, float c, float d, float t) {
+		return ((a * t + b) * t + c) * t + d;
+	}
+
+	static void cubics(float a, float b, float c, float d, float[] t, int count, float[] out) {
+		for(int i = 0; i < count; i++) {
+			float ti = t[i];
+			out[i] = ((a * ti + b) * ti + c) * ti + d;
+		}
+	}
+
+	static void quadratics(float a, float b, float c, float[] t, int count, float[] out) {
+		for(int i = 0; i < count; i++) {
+			float ti = t[i];
+			out[i] = (a * ti + b) * ti + c;
+		}
+	}
+
+}
@@ -6,16 +6,18 @@ import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.math.Vector3;
 
 import de.redlion.badminton.Birdie;
 import de.redlion.badminton.Birdie.STATE;
 import de.redlion.badminton.Configuration;
 import de.redlion.badminton.GameSession;
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.Player;
 import de.redlion.badminton.ScreenshotSaver;
 
 public class GameControls implements InputProcessor {
+	
+	protected MatchContext match = GameSession.getInstance();
 
 	public void keyDownOptions(int keycode) {
 		if (keycode == Input.Keys.F) {
@@ -48,201 +50,28 @@ public class GameControls implements InputProcessor {
 
 	public void keyDownPlayer(Player player, int keycode) {
 		// Player controls
-		if (keycode == player.input.left) {
-			if (player.state == Player.STATE.AIMING) {
-				if (player.aiming == Player.AIMING.IDLE)
-					player.aiming = Player.AIMING.LEFT;
-				else if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.DOWNLEFT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.DOWNRIGHT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.LEFT;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.UPLEFT;
-				else if (player.aiming == Player.AIMING.UPLEFT)
-					player.aiming = Player.AIMING.UPLEFT;
-				else if (player.aiming == Player.AIMING.UPRIGHT)
-					player.aiming = Player.AIMING.UPLEFT;
-			} else {
-				if (player.state == Player.STATE.IDLE)
-					player.state = Player.STATE.LEFT;
-				else if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.DOWNLEFT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.DOWNRIGHT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.LEFT;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.UPLEFT;
-				else if (player.state == Player.STATE.UPLEFT)
-					player.state = Player.STATE.UPLEFT;
-				else if (player.state == Player.STATE.UPRIGHT)
-					player.state = Player.STATE.UPLEFT;
-			}
-		}
-		if (keycode == player.input.right) {
-			if (player.state == Player.STATE.AIMING) {
-				if (player.aiming == Player.AIMING.IDLE)
-					player.aiming = Player.AIMING.RIGHT;
-				else if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.DOWNLEFT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.DOWNRIGHT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.RIGHT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.UPRIGHT;
-				else if (player.aiming == Player.AIMING.UPLEFT)
-					player.aiming = Player.AIMING.UPRIGHT;
-				else if (player.aiming == Player.AIMING.UPRIGHT)
-					player.aiming = Player.AIMING.UPRIGHT;
-			} else {
-				if (player.state == Player.STATE.IDLE)
-					player.state = Player.STATE.RIGHT;
-				else if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.DOWNLEFT)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.DOWNRIGHT)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.RIGHT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.UPRIGHT;
-				else if (player.state == Player.STATE.UPLEFT)
-					player.state = Player.STATE.UPRIGHT;
-				else if (player.state == Player.STATE.UPRIGHT)
-					player.state = Player.STATE.UPRIGHT;
-			}
-		}
-		if (keycode == player.input.up) {
-			if (player.state == Player.STATE.AIMING) {
-				if (player.aiming == Player.AIMING.IDLE)
-					player.aiming = Player.AIMING.UP;
-				else if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.DOWNLEFT)
-					player.aiming = Player.AIMING.UPLEFT;
-				else if (player.aiming == Player.AIMING.DOWNRIGHT)
-					player.aiming = Player.AIMING.UPRIGHT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.UPLEFT;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.UPRIGHT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.UP;
-				else if (player.aiming == Player.AIMING.UPLEFT)
-					player.aiming = Player.AIMING.UPLEFT;
-				else if (player.aiming == Player.AIMING.UPRIGHT)
-					player.aiming = Player.AIMING.UPRIGHT;
-			} else {
-				if (player.state == Player.STATE.IDLE)
-					player.state = Player.STATE.UP;
-				else if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.DOWNLEFT)
-					player.state = Player.STATE.UPLEFT;
-				else if (player.state == Player.STATE.DOWNRIGHT)
-					player.state = Player.STATE.UPRIGHT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.UPLEFT;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.UPRIGHT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.UP;
-				else if (player.state == Player.STATE.UPLEFT)
-					player.state = Player.STATE.UPLEFT;
-				else if (player.state == Player.STATE.UPRIGHT)
-					player.state = Player.STATE.UPRIGHT;
-			}
-		}
-		if (keycode == player.input.down) {
-			if (player.state == Player.STATE.AIMING) {
-				if (player.aiming == Player.AIMING.IDLE)
-					player.aiming = Player.AIMING.DOWN;
-				else if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.DOWN;
-				else if (player.aiming == Player.AIMING.DOWNLEFT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.DOWNRIGHT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.UPLEFT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.UPRIGHT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-			} else {
-				if (player.state == Player.STATE.IDLE)
-					player.state = Player.STATE.DOWN;
-				else if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.DOWN;
-				else if (player.state == Player.STATE.DOWNLEFT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.DOWNRIGHT)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.UPLEFT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.UPRIGHT)
-					player.state = Player.STATE.DOWNRIGHT;
-			}
+		int key = InputTransitions.key(player.input, keycode);
+		if (key >= 0) {
+			if (player.state == Player.STATE.AIMING)
+				player.aiming = InputTransitions.AIMINGS[InputTransitions.pressed(key, player.aiming.ordinal())];
+			else
+				player.state = InputTransitions.STATES[InputTransitions.pressed(key, player.state.ordinal())];
 		}
 		if (keycode == player.input.shoot) {
-			if(GameSession.getInstance().birdie.state != Birdie.STATE.HELD) {
+			if(match.birdie.state != Birdie.STATE.HELD) {
 				player.switchState();
 			}
 			
-			if(player.service && GameSession.getInstance().birdie.state == Birdie.STATE.HELD) {
-				GameSession.getInstance().birdie.hit(player, false);	
+			if(player.service && match.birdie.state == Birdie.STATE.HELD) {
+				match.birdie.hit(match, player, false);	
 				player.switchState();
 			}
 				
 		}
 		if (keycode == player.input.smash) {
-			if(GameSession.getInstance().birdie.state != Birdie.STATE.HELD && player.position.dst(GameSession.getInstance().birdie.currentPosition) >= 1.3f) {
-				if (player.state != Player.STATE.AIMING) {
-					if (player.state == Player.STATE.UP) {
-						player.aiming = Player.AIMING.UP;
-					} else if (player.state == Player.STATE.DOWN) {
-						player.aiming = Player.AIMING.DOWN;
-					}else if (player.state == Player.STATE.LEFT) {
-						player.aiming = Player.AIMING.LEFT;
-					}else if (player.state == Player.STATE.RIGHT) {
-						player.aiming = Player.AIMING.RIGHT;
-					}else if (player.state == Player.STATE.UPLEFT) {
-						player.aiming = Player.AIMING.UPLEFT;
-					}else if (player.state == Player.STATE.UPRIGHT) {
-						player.aiming = Player.AIMING.UPRIGHT;
-					}else if (player.state == Player.STATE.DOWNLEFT) {
-						player.aiming = Player.AIMING.DOWNLEFT;
-					}else if (player.state == Player.STATE.DOWNRIGHT) {
-						player.aiming = Player.AIMING.DOWNRIGHT;
-					}
+			if(match.birdie.state != Birdie.STATE.HELD && player.position.dst(match.birdie.currentPosition) >= 1.3f) {
+				if (player.state != Player.STATE.AIMING && player.state != Player.STATE.IDLE) {
+					player.aiming = InputTransitions.AIMINGS[player.state.ordinal()];
 				}
 				player.state = Player.STATE.AIMING;
 			}
@@ -270,278 +99,35 @@ public class GameControls implements InputProcessor {
 //				player.jump();
 //		}
 		if (keycode == Input.Keys.R) {
-			GameSession.getInstance().birdie.currentPosition = new Vector3(2, 5, -0.5f);
-			GameSession.getInstance().birdie.state = STATE.HELD;
+			match.birdie.currentPosition.set(2, 5, -0.5f);
+			match.birdie.previousPosition.set(match.birdie.currentPosition);
+			match.birdie.state = STATE.HELD;
 		}
 		
 		player.moveTime = 0.0f;
 	}
 
 	public void keyUpPlayer(Player player, int keycode) {
-		player.lastDirection = player.direction.cpy();
+		player.lastDirection.set(player.direction);
 		
-		if (player.state == Player.STATE.AIMING) {
-			if (keycode == player.input.left) {
-				if (Gdx.input.isKeyPressed(player.input.right)) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.aiming = Player.AIMING.UPRIGHT;
-					else if (Gdx.input.isKeyPressed(player.input.down))
-						player.aiming = Player.AIMING.DOWNRIGHT;
-					else
-						player.aiming = Player.AIMING.RIGHT;
-				} else if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.DOWN;
-				else if (player.aiming == Player.AIMING.DOWNLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.right))
-						player.aiming = Player.AIMING.DOWNRIGHT;
-					else
-						player.aiming = Player.AIMING.DOWN;
-				} else if (player.aiming == Player.AIMING.DOWNRIGHT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.RIGHT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.UP;
-				else if (player.aiming == Player.AIMING.UPLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.right))
-						player.aiming = Player.AIMING.UPRIGHT;
-					else
-						player.aiming = Player.AIMING.UP;
-				} else if (player.aiming == Player.AIMING.UPRIGHT)
-					player.aiming = Player.AIMING.UPRIGHT;
-			}
-			if (keycode == player.input.right) {
-				if (Gdx.input.isKeyPressed(player.input.left)) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.aiming = Player.AIMING.UPLEFT;
-					else if (Gdx.input.isKeyPressed(player.input.down))
-						player.aiming = Player.AIMING.DOWNLEFT;
-					else
-						player.aiming = Player.AIMING.LEFT;
-				}
-				if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.DOWN;
-				else if (player.aiming == Player.AIMING.DOWNRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.aiming = Player.AIMING.DOWNLEFT;
-					else
-						player.aiming = Player.AIMING.DOWN;
-				} else if (player.aiming == Player.AIMING.DOWNLEFT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.LEFT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.UP;
-				else if (player.aiming == Player.AIMING.UPRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.aiming = Player.AIMING.UPLEFT;
-					else
-						player.aiming = Player.AIMING.UP;
-				} else if (player.aiming == Player.AIMING.UPLEFT)
-					player.aiming = Player.AIMING.UPLEFT;
-			}
-			if (keycode == player.input.up) {
-				if (Gdx.input.isKeyPressed(player.input.down)) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.aiming = Player.AIMING.DOWNLEFT;
-					else if (Gdx.input.isKeyPressed(player.input.right))
-						player.aiming = Player.AIMING.DOWNRIGHT;
-					else
-						player.aiming = Player.AIMING.DOWN;
-				}
-				if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.DOWN;
-				else if (player.aiming == Player.AIMING.DOWNLEFT)
-					player.aiming = Player.AIMING.DOWNLEFT;
-				else if (player.aiming == Player.AIMING.DOWNRIGHT)
-					player.aiming = Player.AIMING.DOWNRIGHT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.LEFT;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.RIGHT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.UPLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.down))
-						player.aiming = Player.AIMING.DOWNLEFT;
-					else
-						player.aiming = Player.AIMING.LEFT;
-				} else if (player.aiming == Player.AIMING.UPRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.down))
-						player.aiming = Player.AIMING.DOWNRIGHT;
-					else
-						player.aiming = Player.AIMING.RIGHT;
-				}
-			}
-			if (keycode == player.input.down) {
-				if (Gdx.input.isKeyPressed(player.input.up)) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.aiming = Player.AIMING.UPLEFT;
-					else if (Gdx.input.isKeyPressed(player.input.right))
-						player.aiming = Player.AIMING.UPRIGHT;
-					else
-						player.aiming = Player.AIMING.UP;
-				}
-				if (player.aiming == Player.AIMING.DOWN)
-					player.aiming = Player.AIMING.IDLE;
-				else if (player.aiming == Player.AIMING.UPLEFT)
-					player.aiming = Player.AIMING.UPLEFT;
-				else if (player.aiming == Player.AIMING.UPRIGHT)
-					player.aiming = Player.AIMING.UPRIGHT;
-				else if (player.aiming == Player.AIMING.LEFT)
-					player.aiming = Player.AIMING.LEFT;
-				else if (player.aiming == Player.AIMING.RIGHT)
-					player.aiming = Player.AIMING.RIGHT;
-				else if (player.aiming == Player.AIMING.UP)
-					player.aiming = Player.AIMING.UP;
-				else if (player.aiming == Player.AIMING.DOWNLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.aiming = Player.AIMING.UPLEFT;
-					else
-						player.aiming = Player.AIMING.LEFT;
-				} else if (player.aiming == Player.AIMING.DOWNRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.aiming = Player.AIMING.UPRIGHT;
-					else
-						player.aiming = Player.AIMING.RIGHT;
-				}
-			}
-		} else {
-
-			if (keycode == player.input.left) {
-				if (Gdx.input.isKeyPressed(player.input.right)) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.state = Player.STATE.UPRIGHT;
-					else if (Gdx.input.isKeyPressed(player.input.down))
-						player.state = Player.STATE.DOWNRIGHT;
-					else
-						player.state = Player.STATE.RIGHT;
-				} else if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.DOWN;
-				else if (player.state == Player.STATE.DOWNLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.right))
-						player.state = Player.STATE.DOWNRIGHT;
-					else
-						player.state = Player.STATE.DOWN;
-				} else if (player.state == Player.STATE.DOWNRIGHT)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.RIGHT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.UP;
-				else if (player.state == Player.STATE.UPLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.right))
-						player.state = Player.STATE.UPRIGHT;
-					else
-						player.state = Player.STATE.UP;
-				} else if (player.state == Player.STATE.UPRIGHT)
-					player.state = Player.STATE.UPRIGHT;
-			}
-			if (keycode == player.input.right) {
-				if (Gdx.input.isKeyPressed(player.input.left)) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.state = Player.STATE.UPLEFT;
-					else if (Gdx.input.isKeyPressed(player.input.down))
-						player.state = Player.STATE.DOWNLEFT;
-					else
-						player.state = Player.STATE.LEFT;
-				}
-				if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.DOWN;
-				else if (player.state == Player.STATE.DOWNRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.state = Player.STATE.DOWNLEFT;
-					else
-						player.state = Player.STATE.DOWN;
-				} else if (player.state == Player.STATE.DOWNLEFT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.LEFT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.UP;
-				else if (player.state == Player.STATE.UPRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.state = Player.STATE.UPLEFT;
-					else
-						player.state = Player.STATE.UP;
-				} else if (player.state == Player.STATE.UPLEFT)
-					player.state = Player.STATE.UPLEFT;
-			}
-			if (keycode == player.input.up) {
-				if (Gdx.input.isKeyPressed(player.input.down)) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.state = Player.STATE.DOWNLEFT;
-					else if (Gdx.input.isKeyPressed(player.input.right))
-						player.state = Player.STATE.DOWNRIGHT;
-					else
-						player.state = Player.STATE.DOWN;
-				}
-				if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.DOWN;
-				else if (player.state == Player.STATE.DOWNLEFT)
-					player.state = Player.STATE.DOWNLEFT;
-				else if (player.state == Player.STATE.DOWNRIGHT)
-					player.state = Player.STATE.DOWNRIGHT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.LEFT;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.RIGHT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.UPLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.down))
-						player.state = Player.STATE.DOWNLEFT;
-					else
-						player.state = Player.STATE.LEFT;
-				} else if (player.state == Player.STATE.UPRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.down))
-						player.state = Player.STATE.DOWNRIGHT;
-					else
-						player.state = Player.STATE.RIGHT;
-				}
-			}
-			if (keycode == player.input.down) {
-				if (Gdx.input.isKeyPressed(player.input.up)) {
-					if (Gdx.input.isKeyPressed(player.input.left))
-						player.state = Player.STATE.UPLEFT;
-					else if (Gdx.input.isKeyPressed(player.input.right))
-						player.state = Player.STATE.UPRIGHT;
-					else
-						player.state = Player.STATE.UP;
-				}
-				if (player.state == Player.STATE.DOWN)
-					player.state = Player.STATE.IDLE;
-				else if (player.state == Player.STATE.UPLEFT)
-					player.state = Player.STATE.UPLEFT;
-				else if (player.state == Player.STATE.UPRIGHT)
-					player.state = Player.STATE.UPRIGHT;
-				else if (player.state == Player.STATE.LEFT)
-					player.state = Player.STATE.LEFT;
-				else if (player.state == Player.STATE.RIGHT)
-					player.state = Player.STATE.RIGHT;
-				else if (player.state == Player.STATE.UP)
-					player.state = Player.STATE.UP;
-				else if (player.state == Player.STATE.DOWNLEFT) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.state = Player.STATE.UPLEFT;
-					else
-						player.state = Player.STATE.LEFT;
-				} else if (player.state == Player.STATE.DOWNRIGHT) {
-					if (Gdx.input.isKeyPressed(player.input.up))
-						player.state = Player.STATE.UPRIGHT;
-					else
-						player.state = Player.STATE.RIGHT;
-				}
-			}
-		}
+		int key = InputTransitions.key(player.input, keycode);
+		if (key < 0)
+			return;
+		
+		int held = 0;
+		if (key != InputTransitions.LEFT && Gdx.input.isKeyPressed(player.input.left))
+			held |= InputTransitions.bit(InputTransitions.LEFT);
+		if (key != InputTransitions.RIGHT && Gdx.input.isKeyPressed(player.input.right))
+			held |= InputTransitions.bit(InputTransitions.RIGHT);
+		if (key != InputTransitions.UP && Gdx.input.isKeyPressed(player.input.up))
+			held |= InputTransitions.bit(InputTransitions.UP);
+		if (key != InputTransitions.DOWN && Gdx.input.isKeyPressed(player.input.down))
+			held |= InputTransitions.bit(InputTransitions.DOWN);
+		
+		if (player.state == Player.STATE.AIMING)
+			player.aiming = InputTransitions.AIMINGS[InputTransitions.released(key, player.aiming.ordinal(), held)];
+		else
+			player.state = InputTransitions.STATES[InputTransitions.released(key, player.state.ordinal(), held)];
 	}
 
 	@Override
@@ -567,9 +153,9 @@ public class GameControls implements InputProcessor {
 		x = (int) (x / (float) Gdx.graphics.getWidth() * 800);
 		y = (int) (y / (float) Gdx.graphics.getHeight() * 480);
 		
-		if(GameSession.getInstance().player.service && GameSession.getInstance().birdie.state == Birdie.STATE.HELD) {
-			GameSession.getInstance().birdie.hit(GameSession.getInstance().player, false);
-			GameSession.getInstance().birdie.state = Birdie.STATE.HIT;				
+		if(match.player.service && match.birdie.state == Birdie.STATE.HELD) {
+			match.birdie.hit(match, match.player, false);
+			match.birdie.state = Birdie.STATE.HIT;				
 		}
 		
 		return false;
@@ -0,0 +1,107 @@
+package de.redlion.badminton.controls;
+
+import de.redlion.badminton.Player;
+
+/**
+ * Precomputed direction changes for the movement and aiming keys. Player.STATE
+ * and Player.AIMING share the ordinals of the eight directions plus IDLE, so
+ * one table serves both. Directions are handled as bitmasks of the keys.
+ */
+final class InputTransitions {
+
+	static final int LEFT = 0;
+	static final int RIGHT = 1;
+	static final int UP = 2;
+	static final int DOWN = 3;
+	static final int KEYS = 4;
+
+	static final int DIRECTIONS = 9;
+
+	static final Player.STATE[] STATES = Player.STATE.values();
+	static final Player.AIMING[] AIMINGS = Player.AIMING.values();
+
+	//direction ordinal -> key bitmask and back
+	static final int[] MASK = new int[DIRECTIONS];
+	static final int[] DIRECTION = new int[1 << KEYS];
+
+	//[key][direction]
+	static final byte[][] PRESS = new byte[KEYS][DIRECTIONS];
+	//[key][direction][pressed keys]
+	static final byte[][][] RELEASE = new byte[KEYS][DIRECTIONS][1 << KEYS];
+
+	static {
+		MASK[Player.AIMING.IDLE.ordinal()] = 0;
+		MASK[Player.AIMING.LEFT.ordinal()] = bit(LEFT);
+		MASK[Player.AIMING.RIGHT.ordinal()] = bit(RIGHT);
+		MASK[Player.AIMING.UP.ordinal()] = bit(UP);
+		MASK[Player.AIMING.DOWN.ordinal()] = bit(DOWN);
+		MASK[Player.AIMING.UPLEFT.ordinal()] = bit(UP) | bit(LEFT);
+		MASK[Player.AIMING.UPRIGHT.ordinal()] = bit(UP) | bit(RIGHT);
+		MASK[Player.AIMING.DOWNLEFT.ordinal()] = bit(DOWN) | bit(LEFT);
+		MASK[Player.AIMING.DOWNRIGHT.ordinal()] = bit(DOWN) | bit(RIGHT);
+		for(int d = 0; d < DIRECTIONS; d++) {
+			DIRECTION[MASK[d]] = d;
+		}
+
+		for(int key = 0; key < KEYS; key++) {
+			int opposite = bit(opposite(key));
+			for(int d = 0; d < DIRECTIONS; d++) {
+				int mask = MASK[d];
+
+				//pressing against the current direction cancels it, otherwise it replaces the opposite part
+				int pressed = mask == opposite ? 0 : (mask & ~opposite) | bit(key);
+				PRESS[key][d] = (byte) DIRECTION[pressed];
+
+				for(int held = 0; held < 1 << KEYS; held++) {
+					int released;
+					if((held & opposite) != 0) {
+						//the opposite key takes over, together with the first held perpendicular key
+						int first = key == LEFT || key == RIGHT ? UP : LEFT;
+						int second = key == LEFT || key == RIGHT ? DOWN : RIGHT;
+						released = opposite;
+						if((held & bit(first)) != 0)
+							released |= bit(first);
+						else if((held & bit(second)) != 0)
+							released |= bit(second);
+					} else {
+						released = mask & ~bit(key);
+					}
+					RELEASE[key][d][held] = (byte) DIRECTION[released];
+				}
+			}
+		}
+	}
+
+	private InputTransitions() {
+	}
+
+	static int bit(int key) {
+		return 1 << key;
+	}
+
+	static int opposite(int key) {
+		return key ^ 1;
+	}
+
+	/** LEFT, RIGHT, UP, DOWN or -1 if the keycode isn't a direction key of the mappings */
+	static int key(ControlMappings input, int keycode) {
+		if(keycode == input.left)
+			return LEFT;
+		if(keycode == input.right)
+			return RIGHT;
+		if(keycode == input.up)
+			return UP;
+		if(keycode == input.down)
+			return DOWN;
+		return -1;
+	}
+
+	static int pressed(int key, int direction) {
+		return PRESS[key][direction];
+	}
+
+	static int released(int key, int direction, int held) {
+		return RELEASE[key][direction][held];
+	}
+
+}
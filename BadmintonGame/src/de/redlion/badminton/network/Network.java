@@ -29,6 +29,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 
 import de.redlion.badminton.GameSession;
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.Player;
 import de.redlion.badminton.Resources;
 import de.redlion.badminton.opponent.NetworkOpponent;
@@ -53,6 +54,7 @@ public class Network {
 	public String id;
 	public HashMap<String, Integer> connectedIDs = new HashMap<String, Integer>();
 	public NetworkOpponent opponent;
+	public MatchContext match = GameSession.getInstance();
 	
 	Player.STATE currentState = Player.STATE.IDLE;
 	Player.AIMING currentAiming = Player.AIMING.IDLE; 
@@ -198,79 +200,79 @@ public class Network {
 	                			networkUpdates.add(new UpdatePackage(new Vector3((float) obj.getJSONObject("message").getDouble("positionx"),(float) obj.getJSONObject("message").getDouble("positiony"),0)));
 	                			
 	                			if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("IDLE")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.IDLE;
+	                				match.opponent.state = Player.STATE.IDLE;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UP")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.UP;
+	                				match.opponent.state = Player.STATE.UP;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWN")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.DOWN;
+	                				match.opponent.state = Player.STATE.DOWN;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("LEFT")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.LEFT;
+	                				match.opponent.state = Player.STATE.LEFT;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("RIGHT")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.RIGHT;
+	                				match.opponent.state = Player.STATE.RIGHT;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UPLEFT")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.UPLEFT;
+	                				match.opponent.state = Player.STATE.UPLEFT;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UPRIGHT")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.UPRIGHT;
+	                				match.opponent.state = Player.STATE.UPRIGHT;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWNLEFT")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.DOWNLEFT;
+	                				match.opponent.state = Player.STATE.DOWNLEFT;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWNRIGHT")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.DOWNRIGHT;
+	                				match.opponent.state = Player.STATE.DOWNRIGHT;
 	                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("AIMING")) {
-	                				GameSession.getInstance().opponent.state = Player.STATE.AIMING;
+	                				match.opponent.state = Player.STATE.AIMING;
 	                			}
 		                	
 		                }
 		                if (event.equals("synchronize")) {
 		                	System.out.println("synchronize opponent");
 		                			Vector3 networkPos = new Vector3((float) obj.getJSONObject("message").getDouble("positionx"),(float) obj.getJSONObject("message").getDouble("positiony"),0);
-		                			if(networkPos.dst(GameSession.getInstance().opponent.position)>1) {		                				
+		                			if(networkPos.dst(match.opponent.position)>1) {		                				
 		                				networkUpdates.add(new UpdatePackage(networkPos));
 		                			} else {
-			                			networkPos.sub(GameSession.getInstance().opponent.position);
-			                			Vector3 newPos = GameSession.getInstance().opponent.position.tmp().add(networkPos.mul(0.1f));
+			                			networkPos.sub(match.opponent.position);
+			                			Vector3 newPos = match.opponent.position.tmp().add(networkPos.mul(0.1f));
 			                			networkUpdates.add(new UpdatePackage(newPos));
 		                			}	
 		                			
 		                			if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("IDLE")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.IDLE;
+		                				match.opponent.state = Player.STATE.IDLE;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UP")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.UP;
+		                				match.opponent.state = Player.STATE.UP;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWN")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.DOWN;
+		                				match.opponent.state = Player.STATE.DOWN;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("LEFT")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.LEFT;
+		                				match.opponent.state = Player.STATE.LEFT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("RIGHT")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.RIGHT;
+		                				match.opponent.state = Player.STATE.RIGHT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UPLEFT")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.UPLEFT;
+		                				match.opponent.state = Player.STATE.UPLEFT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UPRIGHT")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.UPRIGHT;
+		                				match.opponent.state = Player.STATE.UPRIGHT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWNLEFT")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.DOWNLEFT;
+		                				match.opponent.state = Player.STATE.DOWNLEFT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWNRIGHT")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.DOWNRIGHT;
+		                				match.opponent.state = Player.STATE.DOWNRIGHT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("AIMING")) {
-		                				GameSession.getInstance().opponent.state = Player.STATE.AIMING;
+		                				match.opponent.state = Player.STATE.AIMING;
 		                			}
 		                			
 		                			if(obj.getJSONObject("message").getString("aiming").equalsIgnoreCase("IDLE")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.IDLE;
+		                				match.opponent.aiming = Player.AIMING.IDLE;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UP")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.UP;
+		                				match.opponent.aiming = Player.AIMING.UP;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWN")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.DOWN;
+		                				match.opponent.aiming = Player.AIMING.DOWN;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("LEFT")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.LEFT;
+		                				match.opponent.aiming = Player.AIMING.LEFT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("RIGHT")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.RIGHT;
+		                				match.opponent.aiming = Player.AIMING.RIGHT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UPLEFT")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.UPLEFT;
+		                				match.opponent.aiming = Player.AIMING.UPLEFT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("UPRIGHT")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.UPRIGHT;
+		                				match.opponent.aiming = Player.AIMING.UPRIGHT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWNLEFT")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.DOWNLEFT;
+		                				match.opponent.aiming = Player.AIMING.DOWNLEFT;
 		                			} else if(obj.getJSONObject("message").getString("state").equalsIgnoreCase("DOWNRIGHT")) {
-		                				GameSession.getInstance().opponent.aiming = Player.AIMING.DOWNRIGHT;
+		                				match.opponent.aiming = Player.AIMING.DOWNRIGHT;
 		                			} 		                		
 		                }
 		                
@@ -298,9 +300,9 @@ public class Network {
 	}
 	
 	public void update() {
-		sendCurrentState(GameSession.getInstance().player);
+		sendCurrentState(match.player);
 		for(UpdatePackage update:networkUpdates) {
-			GameSession.getInstance().opponent.position.set(update.position.x, update.position.y, update.position.z);
+			match.opponent.position.set(update.position.x, update.position.y, update.position.z);
 		}
 		networkUpdates.clear();
 	}
@@ -400,8 +402,8 @@ public class Network {
 		try {
 			json.putOpt("state", player.state);
 			json.putOpt("aiming", player.aiming);
-			json.putOpt("positionx", GameSession.getInstance().player.position.x);
-			json.putOpt("positiony", -GameSession.getInstance().player.position.y);
+			json.putOpt("positionx", match.player.position.x);
+			json.putOpt("positiony", -match.player.position.y);
 		} catch (JSONException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
@@ -418,8 +420,8 @@ public class Network {
 		try {
 			json.putOpt("state", player.state);
 			json.putOpt("aiming", player.aiming);
-			json.putOpt("positionx", GameSession.getInstance().player.position.x);
-			json.putOpt("positiony", GameSession.getInstance().player.position.y);
+			json.putOpt("positionx", match.player.position.x);
+			json.putOpt("positiony", match.player.position.y);
 		} catch (JSONException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
@@ -463,8 +465,8 @@ public class Network {
 		JSONObject json = new JSONObject();
 		try {
 			json.putOpt("state", player.state);
-			json.putOpt("positionx", GameSession.getInstance().player.position.x);
-			json.putOpt("positiony", GameSession.getInstance().player.position.y);
+			json.putOpt("positionx", match.player.position.x);
+			json.putOpt("positiony", match.player.position.y);
 		} catch (JSONException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
@@ -3,53 +3,243 @@ package de.redlion.badminton.opponent;
 import com.badlogic.gdx.math.Vector3;
 
 import de.redlion.badminton.Birdie;
-import de.redlion.badminton.GameSession;
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.Player;
 
+/**
+ * Plans once per flight curve: when the other side hits, it walks along the new
+ * curve and picks the first point it can run to before the birdie gets there.
+ * Every tick after that only compares its position with the planned target.
+ * With a ShotSearch set it also searches for the aim of its return meanwhile.
+ * With an AIWorker set, planning and searching move to the worker's thread.
+ * With a PolicyTable set, the aim is looked up instead of searched.
+ */
 public class AIOpponent extends Opponent {
 
+	//the simulations let the AI hit the birdie within this distance
+	public static final float REACH = 4.0f;
+	//Player.update moves SPEED sideways and twice that forward and back
+	public static final float RUN_X = 8;
+	public static final float RUN_Z = 16;
+	//points along the curve tried by plan()
+	static final int PLAN_SAMPLES = 16;
+	//close enough to the target on one axis to stop moving along it
+	static final float ARRIVED = 0.3f;
+
+	//[x sign + 1][z sign + 1], z grows towards the bottom of the screen
+	static final Player.STATE[][] MOVES = {
+		{ Player.STATE.UPLEFT, Player.STATE.LEFT, Player.STATE.DOWNLEFT },
+		{ Player.STATE.UP, Player.STATE.IDLE, Player.STATE.DOWN },
+		{ Player.STATE.UPRIGHT, Player.STATE.RIGHT, Player.STATE.DOWNRIGHT },
+	};
+
+	public final Vector3 target = new Vector3();
+	//where the birdie first gets within reach of the target, the AI hits from about there
+	public final Vector3 intercept = new Vector3();
+	//picks the aim of the next shot, null for a random aim
+	public ShotSearch search;
+	//plans and searches on another thread instead of in update(), null to do it inline
+	public AIWorker worker;
+	//precomputed aims, takes the place of the search when set
+	public PolicyTable policy;
+	//flight and birdie state the target was planned for
+	public int plannedFlight = -1;
+	public Birdie.STATE plannedState = null;
+
+	final Vector3 sample = new Vector3();
+	//copy of this player for looking ahead in run()
+	final Player ahead;
+
 	public AIOpponent(SIDE side,boolean service) {
 		super(side, service);
+		ahead = new Player(side, false);
 	}
 
-	public void update(Vector3 playerposition) {
-		super.update();
-		
-		//AI		
-		if(GameSession.getInstance().birdie.state == Birdie.STATE.HIT && GameSession.getInstance().birdie.currentPosition.y < 10) {
-			direction = position.cpy().sub(GameSession.getInstance().birdie.currentPosition.cpy()).mul(-1);
-			direction.nor();
-		}
-		else if(GameSession.getInstance().birdie.state == Birdie.STATE.HITBYOPPONENT || GameSession.getInstance().birdie.state == Birdie.STATE.HELD){
-			direction = position.cpy().sub(new Vector3(0,0,-6)).mul(-1);
-			direction.nor();			
+	public void update(MatchContext match, float delta, Vector3 playerposition) {
+		super.update(match, delta);
+
+		if(worker != null) {
+			worker.publish(match, this, playerposition);
+			AIWorker.Command command = worker.command();
+			if(command != null)
+				target.set(command.target);
+		} else {
+			think(match, playerposition);
 		}
 
-		if (direction.x > 0.5) {
-			state = Player.STATE.RIGHT;
-			if (direction.z > 0.5) {
-				state = Player.STATE.DOWNRIGHT;
-			} else if (direction.z < -0.5) {
-				state = Player.STATE.UPRIGHT;
-			}
-		} else if (direction.z < -0.5) {
-			state = Player.STATE.LEFT;
-			if (direction.z > 0.5) {
-				state = Player.STATE.DOWNLEFT;
-			} else if (direction.z < -0.5) {
-				state = Player.STATE.UPLEFT;
+		state = steering(this);
+	}
+
+	/**
+	 * Moves towards the target over the given ticks like update() does, without thinking. The
+	 * steering only changes where the player gets close to the target on an axis or drifts away from
+	 * it again, so each stretch in between is done in one go with Player.glide.
+	 */
+	public void run(MatchContext match, int ticks, float delta) {
+		while(ticks > 0) {
+			state = steering(this);
+
+			//the tick after which the steering changes, looked for on a copy
+			int low = 1;
+			int high = ticks;
+			while(low < high) {
+				int mid = (low + high) >>> 1;
+				ahead.position.set(position);
+				ahead.velocity.set(velocity);
+				ahead.moveTime = moveTime;
+				ahead.state = state;
+				ahead.glide(match, mid, delta);
+				if(steering(ahead) != state)
+					high = mid;
+				else
+					low = mid + 1;
 			}
-		} else {
-			if (direction.z > 0.5) {
-				state = Player.STATE.DOWN;
-			} else if (direction.z < -0.5) {
-				state = Player.STATE.UP;
-			} else {
-				state = Player.STATE.IDLE;
+
+			glide(match, low, delta);
+			ticks -= low;
+		}
+	}
+
+	/** the move towards the target from where the given player stands */
+	Player.STATE steering(Player player) {
+		return MOVES[sign(target.x - player.position.x) + 1][sign(target.z - player.position.z) + 1];
+	}
+
+	/** plans for a new flight and searches for the next shot, the expensive part of the AI */
+	void think(MatchContext match, Vector3 receiver) {
+		Birdie birdie = match.birdie;
+		if(birdie.flight != plannedFlight || birdie.state != plannedState)
+			plan(match);
+
+		if(search != null && (birdie.state == incoming() || (service && birdie.state == Birdie.STATE.HELD)))
+			search.think(match, this, receiver);
+	}
+
+	/** sets the aim for the shot that is about to be hit */
+	public void aim(MatchContext match) {
+		if(policy != null) {
+			Player receiver = this == match.opponent ? match.player : match.opponent;
+			aiming = policy.aim(side, match.birdie.currentPosition, receiver.position);
+			return;
+		}
+		if(worker != null) {
+			if(worker.aim(match.birdie, this))
+				return;
+		} else if(search != null && search.choose(match, this)) {
+			return;
+		}
+
+		int randomAim = match.random.nextInt(0, 3);
+		if(randomAim == 0) aiming = Player.AIMING.LEFT;
+		if(randomAim == 1) aiming = Player.AIMING.RIGHT;
+		if(randomAim == 2) aiming = Player.AIMING.UPLEFT;
+		if(randomAim == 3) aiming = Player.AIMING.UPRIGHT;
+	}
+
+	/** picks the target for the current flight of the birdie */
+	public void plan(MatchContext match) {
+		Birdie birdie = match.birdie;
+		plannedFlight = birdie.flight;
+		plannedState = birdie.state;
+
+		target.set(0, 0, home());
+		intercept.set(birdie.state == Birdie.STATE.HELD ? birdie.currentPosition : birdie.landingPoint);
+		if(birdie.state != incoming() || birdie.netFault)
+			return;
+
+		float hitT = intercept(match, side, birdie, position, sample);
+		if(hitT >= 0) {
+			target.set(sample);
+			birdie.trajectory.position(hitT, intercept);
+			return;
+		}
+
+		//nothing reachable in time, run for the landing point anyway
+		sample.set(birdie.landingPoint);
+		clampToCourt(match, side, sample);
+		target.set(sample.x, 0, sample.z);
+	}
+
+	/**
+	 * Walks along the rest of the birdie's curve for the first point a player of the given side
+	 * standing at runner can run to in time. Writes the spot on the ground to run to into target.
+	 * @return curve parameter of the hit from there, -1 if no point can be reached in time
+	 */
+	public static float intercept(MatchContext match, SIDE side, Birdie birdie, Vector3 runner, Vector3 target) {
+		float end = landingT(birdie);
+		float start = birdie.t;
+		for(int i = 1; i <= PLAN_SAMPLES; i++) {
+			float t = start + (end - start) * i / PLAN_SAMPLES;
+			if(spare(match, side, birdie, t, runner, target) >= 0) {
+				target.y = 0;
+				//the hit comes as soon as the birdie gets within reach of the target
+				float hitT = birdie.trajectory.firstWithin(target, REACH);
+				return hitT >= 0 ? hitT : t;
 			}
 		}
-			
+		return -1;
+	}
+
+	/** curve parameter where the birdie's flight ends */
+	static float landingT(Birdie birdie) {
+		float end = birdie.trajectory.groundCrossing();
+		return end < 0 ? 1 : end;
+	}
+
+	/**
+	 * Seconds a player of the given side standing at runner has to spare when running to meet the
+	 * birdie at curve parameter t, negative if it's too late. -Float.MAX_VALUE if the birdie can't
+	 * be hit there at all. Writes the spot to run to into out.
+	 */
+	static float spare(MatchContext match, SIDE side, Birdie birdie, float t, Vector3 runner, Vector3 out) {
+		birdie.trajectory.position(t, out);
+
+		//still over the other half or too high to reach
+		float radius2 = REACH * REACH - out.y * out.y;
+		if((side == SIDE.TOP ? out.z > 0 : out.z < 0) || radius2 <= 0)
+			return -Float.MAX_VALUE;
+
+		float x = out.x;
+		float z = out.z;
+		clampToCourt(match, side, out);
+		float margin = ((float) Math.sqrt(radius2) - Math.abs(out.x - x) - Math.abs(out.z - z)) / 2;
+		if(margin <= 0)
+			return -Float.MAX_VALUE;
+		float dx = Math.max(0, Math.abs(out.x - runner.x) - margin);
+		float dz = Math.max(0, Math.abs(out.z - runner.z) - margin);
+		float time = (birdie.trajectory.lengthAt(t) - birdie.distance) / (birdie.acceleration * birdie.speed);
+		return time - Math.max(dx / RUN_X, dz / RUN_Z);
+	}
+
+	/** moves the point into the part of the court Player.update keeps this side in */
+	public static void clampToCourt(MatchContext match, SIDE side, Vector3 point) {
+		point.x = Math.max(match.borders.min.x + 1.5f, Math.min(match.borders.max.x - 1.5f, point.x));
+		if(side == SIDE.TOP)
+			point.z = Math.max(match.borders.min.z + 1.5f, Math.min(-1.5f, point.z));
+		else
+			point.z = Math.max(1.5f, Math.min(match.borders.max.z - 1.5f, point.z));
+	}
+
+	static int sign(float distance) {
+		if(distance > ARRIVED)
+			return 1;
+		if(distance < -ARRIVED)
+			return -1;
+		return 0;
+	}
+
+	float home() {
+		return side == SIDE.TOP ? -6 : 6;
+	}
+
+	/** state of the birdie when the other side hit it */
+	public Birdie.STATE incoming() {
+		return side == SIDE.TOP ? Birdie.STATE.HIT : Birdie.STATE.HITBYOPPONENT;
+	}
 
+	/** state of the birdie when this side hit it */
+	public Birdie.STATE outgoing() {
+		return side == SIDE.TOP ? Birdie.STATE.HITBYOPPONENT : Birdie.STATE.HIT;
 	}
 
 }
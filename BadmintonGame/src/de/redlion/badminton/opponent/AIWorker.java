@@ -0,0 +1,175 @@
+package de.redlion.badminton.opponent;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.badlogic.gdx.math.Vector3;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.Player.SIDE;
+
+/**
+ * Runs the expensive part of an AIOpponent, planning and the shot search, on
+ * its own thread. Every tick the game thread copies what the AI looks at into
+ * a snapshot and publishes it, the worker loads the newest snapshot into a
+ * shadow match, thinks about it and publishes a command with the target to
+ * run to and the aim for the next shot. Both directions go through a Handoff,
+ * so the game thread never waits for the worker and just keeps using the last
+ * command it got.
+ */
+public class AIWorker implements Runnable {
+
+	//how long the worker sleeps when there is no new snapshot
+	static final long IDLE_NANOS = 1000000;
+
+	/** what the AI sees of the match in one tick */
+	static class Snapshot {
+		final Vector3 fromPosition = new Vector3();
+		final Vector3 via1 = new Vector3();
+		final Vector3 via2 = new Vector3();
+		final Vector3 toPosition = new Vector3();
+		final Vector3 currentPosition = new Vector3();
+		final Vector3 landingPoint = new Vector3();
+		final Vector3 netPoint = new Vector3();
+		float acceleration;
+		float distance;
+		float t;
+		float netT;
+		boolean netFault;
+		Birdie.STATE state;
+		int flight;
+
+		final Vector3 position = new Vector3();
+		boolean service;
+		final Vector3 receiver = new Vector3();
+	}
+
+	/** what the worker decided for the flight and birdie state it names */
+	public static class Command {
+		public final Vector3 target = new Vector3();
+		//null if the next shot should get a random aim
+		public Player.AIMING aim;
+		public int flight;
+		public Birdie.STATE state;
+	}
+
+	final Handoff<Snapshot> snapshots = new Handoff<Snapshot>(new Snapshot(), new Snapshot(), new Snapshot());
+	final Handoff<Command> commands = new Handoff<Command>(new Command(), new Command(), new Command());
+
+	final MatchContext match = new MatchContext();
+	final AIOpponent shadow;
+	int loadedFlight = -1;
+
+	final Thread thread;
+	volatile boolean running = true;
+
+	//number of snapshots the worker has thought about
+	public volatile long thoughts = 0;
+
+	public AIWorker(SIDE side, ShotSearch search) {
+		shadow = new AIOpponent(side, false);
+		shadow.search = search;
+		thread = new Thread(this, "AIWorker");
+		thread.setDaemon(true);
+	}
+
+	public void start() {
+		thread.start();
+	}
+
+	/** stops the worker thread, doesn't wait for it */
+	public void dispose() {
+		running = false;
+		LockSupport.unpark(thread);
+	}
+
+	/** copies what the AI sees into the next snapshot and hands it over, game thread */
+	void publish(MatchContext match, AIOpponent ai, Vector3 receiver) {
+		Birdie birdie = match.birdie;
+		Snapshot snapshot = snapshots.back();
+		snapshot.fromPosition.set(birdie.fromPosition);
+		snapshot.via1.set(birdie.via1);
+		snapshot.via2.set(birdie.via2);
+		snapshot.toPosition.set(birdie.toPosition);
+		snapshot.currentPosition.set(birdie.currentPosition);
+		snapshot.landingPoint.set(birdie.landingPoint);
+		snapshot.netPoint.set(birdie.netPoint);
+		snapshot.acceleration = birdie.acceleration;
+		snapshot.distance = birdie.distance;
+		snapshot.t = birdie.t;
+		snapshot.netT = birdie.netT;
+		snapshot.netFault = birdie.netFault;
+		snapshot.state = birdie.state;
+		snapshot.flight = birdie.flight;
+
+		snapshot.position.set(ai.position);
+		snapshot.service = ai.service;
+		snapshot.receiver.set(receiver);
+		snapshots.publish();
+		LockSupport.unpark(thread);
+	}
+
+	/** last command from the worker, null before the first one, game thread */
+	Command command() {
+		return commands.latest();
+	}
+
+	/**
+	 * Sets the aim the worker found for the shot that is about to be hit, game thread.
+	 * @return false if the worker has no aim for the birdie's current flight
+	 */
+	boolean aim(Birdie birdie, AIOpponent ai) {
+		Command command = commands.latest();
+		if(command == null || command.aim == null || command.flight != birdie.flight || command.state != birdie.state)
+			return false;
+		ai.aiming = command.aim;
+		return true;
+	}
+
+	@Override
+	public void run() {
+		while(running) {
+			if(!snapshots.fresh()) {
+				LockSupport.parkNanos(this, IDLE_NANOS);
+				continue;
+			}
+			Snapshot snapshot = snapshots.latest();
+			load(snapshot);
+			shadow.think(match, snapshot.receiver);
+
+			Command command = commands.back();
+			command.target.set(shadow.target);
+			command.aim = shadow.search != null && shadow.search.choose(match, shadow) ? shadow.aiming : null;
+			command.flight = snapshot.flight;
+			command.state = snapshot.state;
+			commands.publish();
+			thoughts++;
+		}
+	}
+
+	void load(Snapshot snapshot) {
+		Birdie birdie = match.birdie;
+		if(snapshot.flight != loadedFlight) {
+			birdie.fromPosition.set(snapshot.fromPosition);
+			birdie.via1.set(snapshot.via1);
+			birdie.via2.set(snapshot.via2);
+			birdie.toPosition.set(snapshot.toPosition);
+			birdie.trajectory.set(birdie.fromPosition, birdie.via1, birdie.via2, birdie.toPosition);
+			loadedFlight = snapshot.flight;
+		}
+		birdie.currentPosition.set(snapshot.currentPosition);
+		birdie.landingPoint.set(snapshot.landingPoint);
+		birdie.netPoint.set(snapshot.netPoint);
+		birdie.acceleration = snapshot.acceleration;
+		birdie.distance = snapshot.distance;
+		birdie.t = snapshot.t;
+		birdie.netT = snapshot.netT;
+		birdie.netFault = snapshot.netFault;
+		birdie.state = snapshot.state;
+		birdie.flight = snapshot.flight;
+
+		shadow.position.set(snapshot.position);
+		shadow.service = snapshot.service;
+	}
+}
@@ -0,0 +1,53 @@
+package de.redlion.badminton.opponent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free handoff of the newest value from one writer thread to one reader
+ * thread over three preallocated buffers. The writer fills its back buffer
+ * and swaps it into the middle, the reader swaps the middle out whenever a
+ * new one has been published. Neither side ever waits for the other or
+ * allocates, and a published buffer isn't written again until the reader has
+ * swapped it back out.
+ */
+public class Handoff<T> {
+
+	static final int FRESH = 4;
+
+	final Object[] buffers;
+	//index of the middle buffer, FRESH if the reader hasn't taken it yet
+	final AtomicInteger middle = new AtomicInteger(1);
+	int back = 0;
+	int front = 2;
+	boolean received = false;
+
+	public Handoff(T first, T second, T third) {
+		buffers = new Object[] { first, second, third };
+	}
+
+	/** the buffer the writer fills next */
+	@SuppressWarnings("unchecked")
+	public T back() {
+		return (T) buffers[back];
+	}
+
+	/** hands the back buffer to the reader, writer side */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & ~FRESH;
+	}
+
+	/** newest published buffer, null until the first publish, reader side */
+	@SuppressWarnings("unchecked")
+	public T latest() {
+		if((middle.get() & FRESH) != 0) {
+			front = middle.getAndSet(front) & ~FRESH;
+			received = true;
+		}
+		return received ? (T) buffers[front] : null;
+	}
+
+	/** true if something was published since the reader last looked */
+	public boolean fresh() {
+		return (middle.get() & FRESH) != 0;
+	}
+}
@@ -2,6 +2,7 @@ package de.redlion.badminton.opponent;
 
 import com.badlogic.gdx.math.Vector3;
 
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.controls.PlayerTwoControlMappings;
 
 public class LocalOpponent extends Opponent {
@@ -11,8 +12,8 @@ public class LocalOpponent extends Opponent {
 		this.input = new PlayerTwoControlMappings();
 	}
 
-	public void update(Vector3 playerposition) {
-		super.update();
+	public void update(MatchContext match, float delta, Vector3 playerposition) {
+		super.update(match, delta);
 	}
 
 }
@@ -2,14 +2,16 @@ package de.redlion.badminton.opponent;
 
 import com.badlogic.gdx.math.Vector3;
 
+import de.redlion.badminton.MatchContext;
+
 public class NetworkOpponent extends Opponent {
 
 	public NetworkOpponent(SIDE side,boolean service) {
 		super(side, service);
 	}
 
-	public void update(Vector3 playerposition) {
-		super.update();
+	public void update(MatchContext match, float delta, Vector3 playerposition) {
+		super.update(match, delta);
 	}
 
 }
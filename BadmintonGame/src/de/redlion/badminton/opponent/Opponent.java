@@ -1,5 +1,6 @@
 package de.redlion.badminton.opponent;
 
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.Player;
 
 public class Opponent extends Player {
@@ -8,8 +9,8 @@ public class Opponent extends Player {
 		super(side, service);
 	}
 
-	public void update() {
-		super.update();
+	public void update(MatchContext match, float delta) {
+		super.update(match, delta);
 	}
 
 }
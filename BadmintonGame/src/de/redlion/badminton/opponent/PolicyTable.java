@@ -0,0 +1,180 @@
+package de.redlion.badminton.opponent;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.badlogic.gdx.math.Vector3;
+
+import de.redlion.badminton.MatchRandom;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.Player.SIDE;
+
+/**
+ * Best aim for every quantized shot situation, computed offline with the scores
+ * of ShotSearch and looked up with one read at runtime. A situation is the side
+ * of the hitter, the height and court cell the birdie is hit at and the court
+ * cell of the receiver. Where the hitter stands doesn't matter, Birdie.hit only
+ * looks at the birdie.
+ *
+ * The file is a header of ints (magic, version, x cells, z cells, height cells)
+ * followed by one byte per situation, the ordinal of the Player.AIMING. It is
+ * memory mapped, so loading it costs nothing until a situation gets looked up.
+ * The game ships one per difficulty under assetName(), built by PolicyTableMain.
+ */
+public class PolicyTable {
+
+	static final int MAGIC = 0x53425054;
+	static final int VERSION = 1;
+	static final int HEADER = 5 * 4;
+
+	public static final int X_CELLS = 6;
+	public static final int Z_CELLS = 6;
+	public static final int HEIGHT_CELLS = 4;
+
+	//the part of a half Player.update keeps a player in, z counted from the net
+	static final float MIN_X = -5;
+	static final float MAX_X = 5;
+	static final float MIN_Z = 1.5f;
+	static final float MAX_Z = 12.5f;
+	//the birdie can be hit up to about the AI's reach
+	static final float MAX_HEIGHT = 4;
+
+	static final int CELLS = X_CELLS * Z_CELLS;
+	public static final int SIZE = 2 * HEIGHT_CELLS * CELLS * CELLS;
+
+	static final Player.AIMING[] AIMINGS = Player.AIMING.values();
+
+	final ByteBuffer table;
+
+	PolicyTable(ByteBuffer table) {
+		this.table = table;
+	}
+
+	/** asset path of the table built for the given difficulty */
+	public static String assetName(float difficulty) {
+		return "data/policy_" + Math.round(difficulty * 100) + ".bin";
+	}
+
+	/** maps a table file written by write() */
+	public static PolicyTable map(File file) throws IOException {
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = in.getChannel();
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			check(buffer, file.toString());
+			return new PolicyTable(buffer);
+		} finally {
+			//the mapping stays valid after the channel is closed
+			in.close();
+		}
+	}
+
+	/** a table file written by write() that has been read into memory, for assets that can't be mapped */
+	public static PolicyTable read(byte[] file, String name) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(file);
+		check(buffer, name);
+		return new PolicyTable(buffer);
+	}
+
+	static void check(ByteBuffer buffer, String name) throws IOException {
+		if(buffer.capacity() != HEADER + SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+				|| buffer.getInt(8) != X_CELLS || buffer.getInt(12) != Z_CELLS || buffer.getInt(16) != HEIGHT_CELLS)
+			throw new IOException("Not a policy table for this version: " + name);
+	}
+
+	/** a table built in memory by build() */
+	public static PolicyTable wrap(byte[] table) {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + table.length);
+		buffer.position(HEADER);
+		buffer.put(table);
+		return new PolicyTable(buffer);
+	}
+
+	/** best aim for the side hitting the birdie at from while the receiver stands at receiver */
+	public Player.AIMING aim(SIDE side, Vector3 from, Vector3 receiver) {
+		return AIMINGS[table.get(HEADER + index(side, from, receiver))];
+	}
+
+	static int index(SIDE side, Vector3 from, Vector3 receiver) {
+		int height = cell(from.y, 0, MAX_HEIGHT, HEIGHT_CELLS);
+		int hit = cell(from.x, MIN_X, MAX_X, X_CELLS) + X_CELLS * cell(Math.abs(from.z), MIN_Z, MAX_Z, Z_CELLS);
+		int other = cell(receiver.x, MIN_X, MAX_X, X_CELLS) + X_CELLS * cell(Math.abs(receiver.z), MIN_Z, MAX_Z, Z_CELLS);
+		return ((side.ordinal() * HEIGHT_CELLS + height) * CELLS + hit) * CELLS + other;
+	}
+
+	static int cell(float v, float min, float max, int cells) {
+		return Math.min(cells - 1, Math.max(0, (int) ((v - min) / (max - min) * cells)));
+	}
+
+	static float center(int cell, float min, float max, int cells) {
+		return min + (cell + 0.5f) * (max - min) / cells;
+	}
+
+	/**
+	 * Scores every aim of ShotSearch with the given number of samples at the center of
+	 * every situation and keeps the best. A share of 1 - difficulty of the situations
+	 * gets a random aim instead, for weaker tables.
+	 */
+	public static byte[] build(int samples, float difficulty, long seed) {
+		byte[] table = new byte[SIZE];
+		ShotSearch search = new ShotSearch();
+		MatchRandom random = new MatchRandom(seed);
+		Vector3 from = new Vector3();
+		Vector3 receiver = new Vector3();
+
+		for(SIDE side : SIDE.values()) {
+			float sign = side == SIDE.TOP ? -1 : 1;
+			for(int height = 0; height < HEIGHT_CELLS; height++) {
+				for(int hit = 0; hit < CELLS; hit++) {
+					from.set(center(hit % X_CELLS, MIN_X, MAX_X, X_CELLS),
+							center(height, 0, MAX_HEIGHT, HEIGHT_CELLS),
+							sign * center(hit / X_CELLS, MIN_Z, MAX_Z, Z_CELLS));
+					for(int other = 0; other < CELLS; other++) {
+						receiver.set(center(other % X_CELLS, MIN_X, MAX_X, X_CELLS), 0,
+								-sign * center(other / X_CELLS, MIN_Z, MAX_Z, Z_CELLS));
+
+						Player.AIMING best;
+						if(random.nextFloat() >= difficulty) {
+							best = ShotSearch.AIMS[random.nextInt(ShotSearch.AIMS.length)];
+						} else {
+							best = ShotSearch.AIMS[0];
+							float bestValue = -Float.MAX_VALUE;
+							for(Player.AIMING aim : ShotSearch.AIMS) {
+								search.scratch.random.setSeed(seed + index(side, from, receiver));
+								float value = 0;
+								for(int i = 0; i < samples; i++) {
+									value += search.evaluate(side, from, aim, receiver);
+								}
+								if(value > bestValue) {
+									bestValue = value;
+									best = aim;
+								}
+							}
+						}
+						table[index(side, from, receiver)] = (byte) best.ordinal();
+					}
+				}
+			}
+		}
+		return table;
+	}
+
+	public static void write(File file, byte[] table) throws IOException {
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(X_CELLS);
+			out.writeInt(Z_CELLS);
+			out.writeInt(HEIGHT_CELLS);
+			out.write(table);
+		} finally {
+			out.close();
+		}
+	}
+}
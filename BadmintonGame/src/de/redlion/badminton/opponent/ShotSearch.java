@@ -0,0 +1,146 @@
+package de.redlion.badminton.opponent;
+
+import com.badlogic.gdx.math.Vector3;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.Player.SIDE;
+
+/**
+ * Anytime search for the AI's next aim. While the birdie comes in or waits for
+ * the AI to serve, every tick
+ * spends at most budget microseconds hitting sample shots from the planned
+ * intercept in a scratch match, one aim after the other. A shot scores -1 if it
+ * goes out or into the net, else the seconds the receiver would be late to
+ * return it, clamped to [-1, 1]. The fuzz of Birdie.hit makes every sample
+ * different, so each round over all aims deepens the search. Whatever has been
+ * sampled when the AI gets to hit decides the aim.
+ */
+public class ShotSearch {
+
+	static final Player.AIMING[] AIMS = {
+		Player.AIMING.LEFT, Player.AIMING.RIGHT, Player.AIMING.UPLEFT, Player.AIMING.UPRIGHT, Player.AIMING.IDLE
+	};
+	//samples per aim after which more don't change the choice much
+	static final int MAX_DEPTH = 64;
+
+	//microseconds of search per tick
+	public long budget = 500;
+	//samples per aim at most, with an unlimited budget this makes the search deterministic
+	public int maxDepth = MAX_DEPTH;
+	//share of the shots aimed by the search, the others get a random aim
+	public float difficulty = 1;
+
+	//rounds over all aims for the current flight, time of the last tick that searched.
+	//Only the searching thread writes these, volatile so the render thread can show them
+	public volatile int depth = 0;
+	public volatile long micros = 0;
+	public volatile long maxMicros = 0;
+	public volatile long totalMicros = 0;
+	public volatile long evaluations = 0;
+	public volatile long ticks = 0;
+
+	final float[] value = new float[AIMS.length];
+	final int[] samples = new int[AIMS.length];
+	int next = 0;
+	//flight and birdie state the samples belong to
+	int flight = -1;
+	Birdie.STATE state = null;
+
+	final MatchContext scratch = new MatchContext();
+	final Player hitter = new Player(SIDE.TOP, false);
+	final Vector3 sample = new Vector3();
+
+	/** samples shots for the current flight until the budget of this tick is used up */
+	public void think(MatchContext match, AIOpponent ai, Vector3 receiver) {
+		if(match.birdie.flight != flight || match.birdie.state != state) {
+			flight = match.birdie.flight;
+			state = match.birdie.state;
+			scratch.random.setSeed(flight);
+			for(int i = 0; i < AIMS.length; i++) {
+				value[i] = 0;
+				samples[i] = 0;
+			}
+			next = 0;
+			depth = 0;
+		}
+		if(depth >= maxDepth)
+			return;
+
+		long start = System.nanoTime();
+		long deadline = start + budget * 1000;
+		long now = start;
+		while(now < deadline && depth < maxDepth) {
+			value[next] += evaluate(ai.side, ai.intercept, AIMS[next], receiver);
+			samples[next]++;
+			evaluations++;
+			next++;
+			if(next == AIMS.length) {
+				next = 0;
+				depth++;
+			}
+			now = System.nanoTime();
+		}
+
+		micros = (now - start) / 1000;
+		maxMicros = Math.max(maxMicros, micros);
+		totalMicros += micros;
+		ticks++;
+	}
+
+	/**
+	 * Sets the aim with the best mean score for the current flight.
+	 * @return false if nothing has been sampled or this shot gets a random aim
+	 */
+	public boolean choose(MatchContext match, AIOpponent ai) {
+		if(match.birdie.flight != flight || match.birdie.state != state || samples[0] == 0)
+			return false;
+		if(difficulty < 1 && match.random.nextFloat() >= difficulty)
+			return false;
+
+		int best = 0;
+		float bestValue = -Float.MAX_VALUE;
+		for(int i = 0; i < AIMS.length; i++) {
+			if(samples[i] == 0)
+				continue;
+			float mean = value[i] / samples[i];
+			if(mean > bestValue) {
+				bestValue = mean;
+				best = i;
+			}
+		}
+		ai.aiming = AIMS[best];
+		return true;
+	}
+
+	public float averageMicros() {
+		return ticks == 0 ? 0 : totalMicros / (float) ticks;
+	}
+
+	/** score of one sample shot hit by the given side from the given spot, see the class comment */
+	float evaluate(SIDE side, Vector3 from, Player.AIMING aim, Vector3 receiver) {
+		Birdie birdie = scratch.birdie;
+		hitter.side = side;
+		hitter.aiming = aim;
+		birdie.currentPosition.set(from);
+		birdie.hit(scratch, hitter, false);
+		if(birdie.netFault)
+			return -1;
+
+		scratch.playerScore = 0;
+		scratch.opponentScore = 0;
+		birdie.currentPosition.set(birdie.landingPoint);
+		birdie.score(scratch);
+		if((side == SIDE.BOTTOM ? scratch.playerScore : scratch.opponentScore) == 0)
+			return -1;
+
+		SIDE other = side == SIDE.TOP ? SIDE.BOTTOM : SIDE.TOP;
+		float end = AIOpponent.landingT(birdie);
+		float spare = -Float.MAX_VALUE;
+		for(int i = 1; i <= AIOpponent.PLAN_SAMPLES; i++) {
+			spare = Math.max(spare, AIOpponent.spare(scratch, other, birdie, end * i / AIOpponent.PLAN_SAMPLES, receiver, sample));
+		}
+		return Math.max(-1, Math.min(1, -spare));
+	}
+}
@@ -30,6 +30,11 @@ public class AnimateAttribute extends MaterialAttribute {
 	protected AnimateAttribute () {
 	}
 
+	/** advances the shared animation time, call once per rendered frame */
+	public static void update (float delta) {
+		time += delta * 5.f;
+	}
+
 	/** Creates a {@link MaterialAttribute} that is a pure {@link Color}.
 	 * 
 	 * @param name The name of the uniform in the {@link ShaderProgram} that will have its value set to this color. (A 'name' does
@@ -46,7 +51,6 @@ public class AnimateAttribute extends MaterialAttribute {
 
 	@Override
 	public void bind (ShaderProgram program) {
-		time +=  Gdx.graphics.getDeltaTime() * 5.f;
 		program.setUniformf("time", time);
 	}
 
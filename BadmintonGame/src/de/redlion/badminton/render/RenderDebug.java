@@ -6,9 +6,13 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.Vector3;
 
-import de.redlion.badminton.GameSession;
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.Resources;
+import de.redlion.badminton.TrailBuffer;
+import de.redlion.badminton.Trajectory;
 
 public class RenderDebug {
 
@@ -17,65 +21,101 @@ public class RenderDebug {
 	
 	ShapeRenderer renderer;
 	
-	public RenderDebug() {
+	MatchContext match;
+	
+	static final int CURVE_SAMPLES = 32;
+	final float[] curveT = new float[CURVE_SAMPLES];
+	final float[] curveX = new float[CURVE_SAMPLES];
+	final float[] curveY = new float[CURVE_SAMPLES];
+	final float[] curveZ = new float[CURVE_SAMPLES];
+	
+	final Vector3 trailFrom = new Vector3();
+	final Vector3 trailTo = new Vector3();
+	
+	public RenderDebug(MatchContext match) {
+		this.match = match;
 		batch = new SpriteBatch();
 		batch.getProjectionMatrix().setToOrtho2D(0, 0, 800, 480);
 		font = Resources.getInstance().font;
 		font.setScale(1);
 		
 		renderer = new ShapeRenderer();
+		
+		Trajectory.spread(curveT, CURVE_SAMPLES);
 	}
 	
 	public void render(PerspectiveCamera cam) {
 		batch.begin();
 		font.draw(batch, "press F1 to leave debug mode", 20, Gdx.graphics.getHeight() - 20);
 		font.draw(batch, Gdx.graphics.getFramesPerSecond() + " fps", 20, 30);
-		font.draw(batch, GameSession.getInstance().player.toString(), 20, 50);
-		font.draw(batch, GameSession.getInstance().opponent.toString(), 20, 70);
-		font.draw(batch, GameSession.getInstance().birdie.toString(), 20, 90);
+		font.draw(batch, match.player.toString(), 20, 50);
+		font.draw(batch, match.opponent.toString(), 20, 70);
+		font.draw(batch, match.birdie.toString(), 20, 90);
 		batch.end();
 		
 		renderer.setProjectionMatrix(cam.combined);
 		renderer.begin(ShapeType.Line);
 		
 		//draw court borders
-		renderer.line(GameSession.getInstance().borders.min.x, GameSession.getInstance().borders.min.y, GameSession.getInstance().borders.min.z,
-				GameSession.getInstance().borders.min.x, GameSession.getInstance().borders.max.y, GameSession.getInstance().borders.max.z);
-		renderer.line(GameSession.getInstance().borders.max.x, GameSession.getInstance().borders.min.y, GameSession.getInstance().borders.min.z,
-				GameSession.getInstance().borders.max.x, GameSession.getInstance().borders.max.y, GameSession.getInstance().borders.max.z);
-		renderer.line(GameSession.getInstance().borders.min.x, GameSession.getInstance().borders.min.y, GameSession.getInstance().borders.min.z,
-				GameSession.getInstance().borders.max.x, GameSession.getInstance().borders.max.y, GameSession.getInstance().borders.min.z);
-		renderer.line(GameSession.getInstance().borders.min.x, GameSession.getInstance().borders.min.y, GameSession.getInstance().borders.max.z,
-				GameSession.getInstance().borders.max.x, GameSession.getInstance().borders.max.y, GameSession.getInstance().borders.max.z);
+		renderer.line(match.borders.min.x, match.borders.min.y, match.borders.min.z,
+				match.borders.min.x, match.borders.max.y, match.borders.max.z);
+		renderer.line(match.borders.max.x, match.borders.min.y, match.borders.min.z,
+				match.borders.max.x, match.borders.max.y, match.borders.max.z);
+		renderer.line(match.borders.min.x, match.borders.min.y, match.borders.min.z,
+				match.borders.max.x, match.borders.max.y, match.borders.min.z);
+		renderer.line(match.borders.min.x, match.borders.min.y, match.borders.max.z,
+				match.borders.max.x, match.borders.max.y, match.borders.max.z);
 		
 		//draw player
-		renderer.line(GameSession.getInstance().player.position.x - 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z - 1f, 
-				GameSession.getInstance().player.position.x - 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z + 1f);
-		renderer.line(GameSession.getInstance().player.position.x + 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z - 1f, 
-				GameSession.getInstance().player.position.x + 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z + 1f);
-		renderer.line(GameSession.getInstance().player.position.x + 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z + 1f, 
-				GameSession.getInstance().player.position.x - 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z + 1f);
-		renderer.line(GameSession.getInstance().player.position.x + 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z - 1f, 
-				GameSession.getInstance().player.position.x - 1f, GameSession.getInstance().player.position.y, GameSession.getInstance().player.position.z - 1f);
+		renderer.line(match.player.position.x - 1f, match.player.position.y, match.player.position.z - 1f, 
+				match.player.position.x - 1f, match.player.position.y, match.player.position.z + 1f);
+		renderer.line(match.player.position.x + 1f, match.player.position.y, match.player.position.z - 1f, 
+				match.player.position.x + 1f, match.player.position.y, match.player.position.z + 1f);
+		renderer.line(match.player.position.x + 1f, match.player.position.y, match.player.position.z + 1f, 
+				match.player.position.x - 1f, match.player.position.y, match.player.position.z + 1f);
+		renderer.line(match.player.position.x + 1f, match.player.position.y, match.player.position.z - 1f, 
+				match.player.position.x - 1f, match.player.position.y, match.player.position.z - 1f);
 		
 		//draw opponent
-		renderer.line(GameSession.getInstance().opponent.position.x - 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z - 1f, 
-				GameSession.getInstance().opponent.position.x - 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z + 1f);
-		renderer.line(GameSession.getInstance().opponent.position.x + 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z - 1f, 
-				GameSession.getInstance().opponent.position.x + 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z + 1f);
-		renderer.line(GameSession.getInstance().opponent.position.x + 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z + 1f, 
-				GameSession.getInstance().opponent.position.x - 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z + 1f);
-		renderer.line(GameSession.getInstance().opponent.position.x + 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z - 1f, 
-				GameSession.getInstance().opponent.position.x - 1f, GameSession.getInstance().opponent.position.y, GameSession.getInstance().opponent.position.z - 1f);
+		renderer.line(match.opponent.position.x - 1f, match.opponent.position.y, match.opponent.position.z - 1f, 
+				match.opponent.position.x - 1f, match.opponent.position.y, match.opponent.position.z + 1f);
+		renderer.line(match.opponent.position.x + 1f, match.opponent.position.y, match.opponent.position.z - 1f, 
+				match.opponent.position.x + 1f, match.opponent.position.y, match.opponent.position.z + 1f);
+		renderer.line(match.opponent.position.x + 1f, match.opponent.position.y, match.opponent.position.z + 1f, 
+				match.opponent.position.x - 1f, match.opponent.position.y, match.opponent.position.z + 1f);
+		renderer.line(match.opponent.position.x + 1f, match.opponent.position.y, match.opponent.position.z - 1f, 
+				match.opponent.position.x - 1f, match.opponent.position.y, match.opponent.position.z - 1f);
+		
+		renderer.line(match.birdie.currentPosition.x - 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z - 0.1f, 
+				match.birdie.currentPosition.x - 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z + 0.1f);
+		renderer.line(match.birdie.currentPosition.x + 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z - 0.1f, 
+				match.birdie.currentPosition.x + 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z + 0.1f);
+		renderer.line(match.birdie.currentPosition.x + 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z + 0.1f, 
+				match.birdie.currentPosition.x - 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z + 0.1f);
+		renderer.line(match.birdie.currentPosition.x + 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z - 0.1f, 
+				match.birdie.currentPosition.x - 0.1f, match.birdie.currentPosition.y, match.birdie.currentPosition.z - 0.1f);
+		
+		//draw predicted landing point
+		if(match.birdie.state == Birdie.STATE.HIT || match.birdie.state == Birdie.STATE.HITBYOPPONENT) {
+			renderer.line(match.birdie.landingPoint.x - 0.3f, 0, match.birdie.landingPoint.z - 0.3f, 
+					match.birdie.landingPoint.x + 0.3f, 0, match.birdie.landingPoint.z + 0.3f);
+			renderer.line(match.birdie.landingPoint.x - 0.3f, 0, match.birdie.landingPoint.z + 0.3f, 
+					match.birdie.landingPoint.x + 0.3f, 0, match.birdie.landingPoint.z - 0.3f);
+			
+			//draw the flight curve
+			match.birdie.trajectory.positions(curveT, CURVE_SAMPLES, curveX, curveY, curveZ);
+			for(int i = 1; i < CURVE_SAMPLES; i++) {
+				renderer.line(curveX[i - 1], curveY[i - 1], curveZ[i - 1], curveX[i], curveY[i], curveZ[i]);
+			}
+		}
 		
-		renderer.line(GameSession.getInstance().birdie.currentPosition.x - 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z - 0.1f, 
-				GameSession.getInstance().birdie.currentPosition.x - 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z + 0.1f);
-		renderer.line(GameSession.getInstance().birdie.currentPosition.x + 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z - 0.1f, 
-				GameSession.getInstance().birdie.currentPosition.x + 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z + 0.1f);
-		renderer.line(GameSession.getInstance().birdie.currentPosition.x + 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z + 0.1f, 
-				GameSession.getInstance().birdie.currentPosition.x - 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z + 0.1f);
-		renderer.line(GameSession.getInstance().birdie.currentPosition.x + 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z - 0.1f, 
-				GameSession.getInstance().birdie.currentPosition.x - 0.1f, GameSession.getInstance().birdie.currentPosition.y, GameSession.getInstance().birdie.currentPosition.z - 0.1f);
+		//draw the trail of the dropping birdie
+		TrailBuffer trail = match.birdie.trajectoryPath;
+		for(int i = 1; i < trail.size(); i++) {
+			trail.get(i - 1, trailFrom);
+			trail.get(i, trailTo);
+			renderer.line(trailFrom.x, trailFrom.y, trailFrom.z, trailTo.x, trailTo.y, trailTo.z);
+		}
 		
 		renderer.end();
 
@@ -23,9 +23,10 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
 
 import de.redlion.badminton.Birdie;
-import de.redlion.badminton.GameSession;
+import de.redlion.badminton.MatchContext;
 import de.redlion.badminton.Player;
 import de.redlion.badminton.opponent.Opponent;
 import de.redlion.badminton.render.LightManager.LightQuality;
@@ -81,13 +82,19 @@ public class RenderStadium {
 	Birdie birdie;
 	Player player;
 	Opponent opponent;
+	
+	//extra shuttles of the drill mode, drawn like the birdie with reused nodes
+	public Array<Birdie> shuttles;
+	Array<StillModelNode> shuttleNodes = new Array<StillModelNode>();
+	float shuttleRadius;
 
 	Matrix4 tmp = new Matrix4().idt();
+	Vector3 renderPosition = new Vector3();
 
 	Preferences prefs;
 
 
-	public RenderStadium() {
+	public RenderStadium(MatchContext match) {
 		prefs = Gdx.app.getPreferences(TAG);
 		
 		highQuality = prefs.getBoolean("highQuality", false);
@@ -155,9 +162,15 @@ public class RenderStadium {
 			G3dExporter.export(modelElephant, Gdx.files.absolute("data/elephant_anim.g3d"));
 		}
 		
-		player = GameSession.getInstance().player;
-		birdie = GameSession.getInstance().birdie;
-		opponent = GameSession.getInstance().opponent;
+		player = match.player;
+		birdie = match.birdie;
+		opponent = match.opponent;
+		
+		{
+			BoundingBox box = new BoundingBox();
+			modelBirdie.getBoundingBox(box);
+			shuttleRadius = box.getDimensions().len() / 2;
+		}
 		
 		{
 			// add stadium
@@ -283,8 +296,12 @@ public class RenderStadium {
 		protoRenderer.cam = cam;
 	}
 
-	public void render() {
-		final float delta = Gdx.graphics.getDeltaTime();
+	/**
+	 * @param delta time since the last rendered frame
+	 * @param alpha how far the frame is between the last and the next simulation step
+	 */
+	public void render(float delta, float alpha) {
+		AnimateAttribute.update(delta);
 		
 		Gdx.gl.glDisable(GL20.GL_CULL_FACE);
 
@@ -300,7 +317,8 @@ public class RenderStadium {
 					scaler = 1 - help;
 			}
 			instancePlayer.matrix.idt();
-			instancePlayer.matrix.trn(player.position.x, player.position.y, player.position.z);
+			renderPosition.set(player.previousPosition).lerp(player.position, alpha);
+			instancePlayer.matrix.trn(renderPosition.x, renderPosition.y, renderPosition.z);
 //			instancePlayer.matrix.scale(scaler, scaler, scaler);
 			instancePlayerBB.mul(instancePlayer.matrix);
 			
@@ -325,7 +343,8 @@ public class RenderStadium {
 			
 			instanceOpponent.matrix.idt();
 //			instanceOpponent.matrix.rotate(Vector3.Y, 180);
-			instanceOpponent.matrix.trn(opponent.position.x, opponent.position.y, opponent.position.z);
+			renderPosition.set(opponent.previousPosition).lerp(opponent.position, alpha);
+			instanceOpponent.matrix.trn(renderPosition.x, renderPosition.y, renderPosition.z);
 //			instanceOpponent.matrix.scale(scaler, scaler, scaler);
 			instanceOpponentBB.mul(instanceOpponent.matrix);
 			
@@ -338,11 +357,12 @@ public class RenderStadium {
 		
 		{
 			// birdie	
+			renderPosition.set(birdie.previousPosition).lerp(birdie.currentPosition, alpha);
 			BoundingBox box = new BoundingBox();		
 			instanceBirdie = new StillModelNode();
 			modelBirdie.getBoundingBox(box);
 			instanceBirdie.matrix.rotate(Vector3.X, -90);
-			instanceBirdie.matrix.trn(birdie.currentPosition.x, birdie.currentPosition.y, birdie.currentPosition.z);
+			instanceBirdie.matrix.trn(renderPosition.x, renderPosition.y, renderPosition.z);
 			instanceBirdie.matrix.scale(1, 1, 1);
 			tmp.setToLookAt(birdie.tangent, birdie.up);
 			instanceBirdie.matrix.mul(tmp);
@@ -355,20 +375,45 @@ public class RenderStadium {
 			BoundingBox box = new BoundingBox();		
 			instanceBirdieShadow = new StillModelNode();
 			modelBirdieShadow.getBoundingBox(box);
-			instanceBirdieShadow.matrix.trn(birdie.currentPosition.x, 0.1f, birdie.currentPosition.z);
+			instanceBirdieShadow.matrix.trn(renderPosition.x, 0.1f, renderPosition.z);
 			instanceBirdieShadow.matrix.scale(1, 1, 1);
 			box.mul(instanceBirdieShadow.matrix);
 			instanceBirdieShadow.radius = (box.getDimensions().len() / 2);
 		}
 		
+		if(shuttles != null) {
+			while(shuttleNodes.size < shuttles.size) {
+				shuttleNodes.add(new StillModelNode());
+			}
+			for(int i = 0; i < shuttles.size; i++) {
+				Birdie shuttle = shuttles.get(i);
+				StillModelNode node = shuttleNodes.get(i);
+				renderPosition.set(shuttle.previousPosition).lerp(shuttle.currentPosition, alpha);
+				node.matrix.idt();
+				node.matrix.rotate(Vector3.X, -90);
+				node.matrix.trn(renderPosition.x, renderPosition.y, renderPosition.z);
+				tmp.setToLookAt(shuttle.tangent, shuttle.up);
+				node.matrix.mul(tmp);
+				node.radius = shuttleRadius;
+			}
+		}
+		
 		protoRenderer.begin();
 		protoRenderer.draw(modelStadium, instanceStadium);
 		protoRenderer.draw(modelWater, instanceStadium);
 		protoRenderer.draw(modelNet, instanceStadium);
 		protoRenderer.draw(modelOctopus, instancePlayer);	
 		protoRenderer.draw(modelElephant, instanceOpponent);
-		protoRenderer.draw(modelBirdie, instanceBirdie);
-		protoRenderer.draw(modelBirdieShadow, instanceBirdieShadow);
+		//the drill mode parks the match birdie as NONHIT, it only passes that state for a moment in a match
+		if(birdie.state != Birdie.STATE.NONHIT) {
+			protoRenderer.draw(modelBirdie, instanceBirdie);
+			protoRenderer.draw(modelBirdieShadow, instanceBirdieShadow);
+		}
+		if(shuttles != null) {
+			for(int i = 0; i < shuttles.size; i++) {
+				protoRenderer.draw(modelBirdie, shuttleNodes.get(i));
+			}
+		}
 		protoRenderer.end();	
 
 	}
@@ -0,0 +1,47 @@
+package de.redlion.badminton.simulation;
+
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.opponent.AIOpponent;
+
+/**
+ * Both sides played by the AI, for balancing runs without a screen. Needs a
+ * match set up with {@link MatchContext#newAIGame()}.
+ */
+public class AIMatchSimulation extends Simulation {
+
+	AIOpponent bottom;
+	AIOpponent top;
+
+	public AIMatchSimulation(MatchContext match) {
+		super(match);
+		bottom = (AIOpponent) player;
+		top = (AIOpponent) opponent;
+	}
+
+	@Override
+	protected void collisionTest() {
+	}
+
+	@Override
+	protected void update(float delta) {
+		bottom.update(match, delta, top.position);
+		birdie.update(match, delta);
+		top.update(match, delta, bottom.position);
+
+		tryHit(bottom);
+		tryHit(top);
+	}
+
+	void tryHit(AIOpponent ai) {
+		if (inReach(ai, 4.0f)
+				&& birdie.state != ai.outgoing()) {
+
+			ai.aim(match);
+
+			birdie.hit(match, ai, false);
+
+			ai.switchState();
+		}
+	}
+
+}
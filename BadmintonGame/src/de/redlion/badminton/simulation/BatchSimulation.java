@@ -0,0 +1,330 @@
+package de.redlion.badminton.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.math.Vector3;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.MatchRandom;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.AIOpponent;
+
+/**
+ * Many AI vs AI matches run on a thread pool. Between runs the state of every
+ * match is stored in primitive arrays, one array per field, instead of a
+ * Player/Birdie object graph per match. The arrays are only storage, the
+ * stepping itself works on objects: the matches are split into contiguous
+ * chunks, and every chunk loads a match into its own scratch MatchContext,
+ * steps it with the normal game rules (Player.update, Birdie.hit and
+ * Birdie.score through {@link AIMatchSimulation}) and writes it back. So there
+ * is exactly one implementation of the rules. Loading also rebuilds the arc
+ * length table of the birdie's curve, so few long runs are cheaper than many
+ * short ones.
+ */
+public class BatchSimulation {
+
+	static final Player.STATE[] PLAYER_STATES = Player.STATE.values();
+	static final Player.AIMING[] AIMINGS = Player.AIMING.values();
+	static final Birdie.STATE[] BIRDIE_STATES = Birdie.STATE.values();
+
+	public final int size;
+
+	final ExecutorService executor;
+	final int threads;
+	final List<Chunk> chunks = new ArrayList<Chunk>();
+
+	//players, two per match: bottom at 2 * match, top at 2 * match + 1. Vectors are stored as x, y, z
+	final float[] playerPosition;
+	final float[] playerVelocity;
+	final float[] playerDirection;
+	final float[] aimTime;
+	final float[] diagonalTime;
+	final float[] moveTime;
+	final byte[] playerState;
+	final byte[] aiming;
+	final boolean[] service;
+	//AI plans, per player like above. plannedState is -1 while there is no plan
+	final float[] target;
+	final float[] intercept;
+	final int[] plannedFlight;
+	final byte[] plannedState;
+
+	//birdies, one per match
+	final float[] birdiePosition;
+	final float[] fromPosition;
+	final float[] via1;
+	final float[] via2;
+	final float[] toPosition;
+	final float[] landingPoint;
+	final float[] landingTime;
+	final float[] flightTime;
+	final float[] t;
+	final float[] acceleration;
+	final float[] distance;
+	final byte[] birdieState;
+	final int[] flight;
+	final float[] netT;
+	final float[] netPoint;
+	final boolean[] netFault;
+
+	//matches
+	final long[] seed;
+	final int[] playerScore;
+	final int[] opponentScore;
+
+	//statistics of the last run
+	public long rallies = 0;
+	public float seconds = 0;
+
+	public BatchSimulation(int size, long seed, int threads) {
+		this.size = size;
+		this.threads = threads;
+
+		playerPosition = new float[size * 2 * 3];
+		playerVelocity = new float[size * 2 * 3];
+		playerDirection = new float[size * 2 * 3];
+		aimTime = new float[size * 2];
+		diagonalTime = new float[size * 2];
+		moveTime = new float[size * 2];
+		playerState = new byte[size * 2];
+		aiming = new byte[size * 2];
+		service = new boolean[size * 2];
+		target = new float[size * 2 * 3];
+		intercept = new float[size * 2 * 3];
+		plannedFlight = new int[size * 2];
+		plannedState = new byte[size * 2];
+
+		birdiePosition = new float[size * 3];
+		fromPosition = new float[size * 3];
+		via1 = new float[size * 3];
+		via2 = new float[size * 3];
+		toPosition = new float[size * 3];
+		landingPoint = new float[size * 3];
+		landingTime = new float[size];
+		flightTime = new float[size];
+		t = new float[size];
+		acceleration = new float[size];
+		distance = new float[size];
+		birdieState = new byte[size];
+		flight = new int[size];
+		netT = new float[size];
+		netPoint = new float[size * 3];
+		netFault = new boolean[size];
+
+		this.seed = new long[size];
+		playerScore = new int[size];
+		opponentScore = new int[size];
+
+		MatchRandom seeds = new MatchRandom(seed);
+		for(int i = 0; i < size; i++) {
+			MatchContext match = new MatchContext();
+			match.newAIGame();
+			match.random = seeds.split();
+			store(i, match);
+		}
+
+		executor = Executors.newFixedThreadPool(threads);
+		int chunkSize = (size + threads - 1) / threads;
+		for(int from = 0; from < size; from += chunkSize) {
+			chunks.add(new Chunk(from, Math.min(size, from + chunkSize)));
+		}
+	}
+
+	public BatchSimulation(int size, long seed) {
+		this(size, seed, Runtime.getRuntime().availableProcessors());
+	}
+
+	/** advances every match by the given number of ticks */
+	public void run(int ticks, float delta) {
+		long before = totalScore();
+		long start = System.nanoTime();
+
+		for(Chunk chunk : chunks) {
+			chunk.ticks = ticks;
+			chunk.delta = delta;
+		}
+		try {
+			List<Future<Object>> results = executor.invokeAll(chunks);
+			for(Future<Object> result : results) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Batch step failed", e.getCause());
+		}
+
+		seconds = (System.nanoTime() - start) / 1000000000f;
+		rallies = totalScore() - before;
+	}
+
+	/** divided by the cores the threads can actually run on, not by the number of threads */
+	public float ralliesPerSecondPerCore() {
+		if(seconds == 0)
+			return 0;
+		return rallies / seconds / Math.min(threads, Runtime.getRuntime().availableProcessors());
+	}
+
+	public int getPlayerScore(int match) {
+		return playerScore[match];
+	}
+
+	public int getOpponentScore(int match) {
+		return opponentScore[match];
+	}
+
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	long totalScore() {
+		long total = 0;
+		for(int i = 0; i < size; i++) {
+			total += playerScore[i] + opponentScore[i];
+		}
+		return total;
+	}
+
+	void load(int i, MatchContext match) {
+		loadPlayer(2 * i, match.player);
+		loadPlayer(2 * i + 1, match.opponent);
+
+		Birdie birdie = match.birdie;
+		get(birdiePosition, i, birdie.currentPosition);
+		birdie.previousPosition.set(birdie.currentPosition);
+		get(fromPosition, i, birdie.fromPosition);
+		get(via1, i, birdie.via1);
+		get(via2, i, birdie.via2);
+		get(toPosition, i, birdie.toPosition);
+		birdie.trajectory.set(birdie.fromPosition, birdie.via1, birdie.via2, birdie.toPosition);
+		get(landingPoint, i, birdie.landingPoint);
+		birdie.landingTime = landingTime[i];
+		birdie.flightTime = flightTime[i];
+		birdie.t = t[i];
+		birdie.acceleration = acceleration[i];
+		birdie.distance = distance[i];
+		birdie.state = BIRDIE_STATES[birdieState[i]];
+		birdie.flight = flight[i];
+		birdie.netT = netT[i];
+		get(netPoint, i, birdie.netPoint);
+		birdie.netFault = netFault[i];
+
+		match.random.setSeed(seed[i]);
+		match.playerScore = playerScore[i];
+		match.opponentScore = opponentScore[i];
+	}
+
+	void store(int i, MatchContext match) {
+		storePlayer(2 * i, match.player);
+		storePlayer(2 * i + 1, match.opponent);
+
+		Birdie birdie = match.birdie;
+		put(birdiePosition, i, birdie.currentPosition);
+		put(fromPosition, i, birdie.fromPosition);
+		put(via1, i, birdie.via1);
+		put(via2, i, birdie.via2);
+		put(toPosition, i, birdie.toPosition);
+		put(landingPoint, i, birdie.landingPoint);
+		landingTime[i] = birdie.landingTime;
+		flightTime[i] = birdie.flightTime;
+		t[i] = birdie.t;
+		acceleration[i] = birdie.acceleration;
+		distance[i] = birdie.distance;
+		birdieState[i] = (byte) birdie.state.ordinal();
+		flight[i] = birdie.flight;
+		netT[i] = birdie.netT;
+		put(netPoint, i, birdie.netPoint);
+		netFault[i] = birdie.netFault;
+
+		seed[i] = match.random.getSeed();
+		playerScore[i] = match.playerScore;
+		opponentScore[i] = match.opponentScore;
+	}
+
+	void loadPlayer(int p, Player player) {
+		get(playerPosition, p, player.position);
+		player.previousPosition.set(player.position);
+		get(playerVelocity, p, player.velocity);
+		get(playerDirection, p, player.direction);
+		player.aimTime = aimTime[p];
+		player.diagonalTime = diagonalTime[p];
+		player.moveTime = moveTime[p];
+		player.state = PLAYER_STATES[playerState[p]];
+		player.aiming = AIMINGS[aiming[p]];
+		player.service = service[p];
+
+		AIOpponent ai = (AIOpponent) player;
+		get(target, p, ai.target);
+		get(intercept, p, ai.intercept);
+		ai.plannedFlight = plannedFlight[p];
+		ai.plannedState = plannedState[p] < 0 ? null : BIRDIE_STATES[plannedState[p]];
+	}
+
+	void storePlayer(int p, Player player) {
+		put(playerPosition, p, player.position);
+		put(playerVelocity, p, player.velocity);
+		put(playerDirection, p, player.direction);
+		aimTime[p] = player.aimTime;
+		diagonalTime[p] = player.diagonalTime;
+		moveTime[p] = player.moveTime;
+		playerState[p] = (byte) player.state.ordinal();
+		aiming[p] = (byte) player.aiming.ordinal();
+		service[p] = player.service;
+
+		AIOpponent ai = (AIOpponent) player;
+		put(target, p, ai.target);
+		put(intercept, p, ai.intercept);
+		plannedFlight[p] = ai.plannedFlight;
+		plannedState[p] = ai.plannedState == null ? -1 : (byte) ai.plannedState.ordinal();
+	}
+
+	static void get(float[] array, int i, Vector3 out) {
+		out.set(array[i * 3], array[i * 3 + 1], array[i * 3 + 2]);
+	}
+
+	static void put(float[] array, int i, Vector3 v) {
+		array[i * 3] = v.x;
+		array[i * 3 + 1] = v.y;
+		array[i * 3 + 2] = v.z;
+	}
+
+	/** a contiguous range of matches, stepped through one scratch match */
+	class Chunk implements Callable<Object> {
+
+		final int from;
+		final int to;
+
+		final MatchContext match = new MatchContext();
+		final AIMatchSimulation simulation;
+
+		int ticks;
+		float delta;
+
+		Chunk(int from, int to) {
+			this.from = from;
+			this.to = to;
+			match.newAIGame();
+			simulation = new AIMatchSimulation(match);
+		}
+
+		@Override
+		public Object call() {
+			for(int i = from; i < to; i++) {
+				load(i, match);
+				for(int tick = 0; tick < ticks; tick++) {
+					simulation.step(delta);
+				}
+				store(i, match);
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package de.redlion.badminton.simulation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.Opponent;
+
+/**
+ * Training drill: a launcher on the far side fires shuttles at the player, who
+ * returns them by aiming close enough to one. The shuttles come from a pool and
+ * the hit test asks a ShuttleGrid for the nearby ones, so hundreds of them can
+ * be in the air at once. The match birdie and the score aren't used.
+ */
+public class DrillSimulation extends Simulation {
+
+	//same reach as in the match, also the grid's cell size
+	static final float REACH = 4.0f;
+
+	public float launchRate = 20;
+	public int maxShuttles = 1000;
+
+	public int launched = 0;
+	public int returned = 0;
+	public int missed = 0;
+
+	public final Array<Birdie> shuttles = new Array<Birdie>(false, 1024);
+	final Pool<Birdie> pool = new Pool<Birdie>() {
+		@Override
+		protected Birdie newObject() {
+			return new Birdie();
+		}
+	};
+
+	final ShuttleGrid grid;
+	final IntArray candidates = new IntArray();
+	//the grid sorts by the current position, a shuttle that moved up to this far in the last tick still gets found
+	float maxStep = 0;
+
+	final Opponent launcher = new Opponent(Player.SIDE.TOP, false);
+	float launchTime = 0;
+
+	public DrillSimulation(MatchContext match) {
+		super(match);
+		grid = new ShuttleGrid(match.borders, REACH);
+	}
+
+	@Override
+	protected void collisionTest() {
+		if(player.state != Player.STATE.AIMING)
+			return;
+
+		grid.build(shuttles);
+		candidates.clear();
+		grid.query(player.position, REACH + maxStep + player.position.dst(player.previousPosition), candidates);
+		//the lowest index that can be hit, so the cell layout doesn't decide which shuttle gets returned
+		int hit = -1;
+		for(int i = 0; i < candidates.size; i++) {
+			int index = candidates.get(i);
+			Birdie shuttle = shuttles.get(index);
+			if((hit < 0 || index < hit) && shuttle.state == Birdie.STATE.HITBYOPPONENT
+					&& SweptCollision.hits(shuttle.previousPosition, shuttle.currentPosition,
+							player.previousPosition, player.position, REACH)) {
+				hit = index;
+			}
+		}
+		if(hit >= 0) {
+			shuttles.get(hit).hit(match, player, false);
+			returned++;
+
+			player.switchState();
+		}
+	}
+
+	@Override
+	protected void update(float delta) {
+		player.update(match, delta);
+		//a shuttle covers at most its full strength speed along the curve, the chord is shorter
+		maxStep = birdie.speed * delta;
+
+		launchTime += delta;
+		float interval = 1 / launchRate;
+		while(launchTime >= interval) {
+			launchTime -= interval;
+			if(shuttles.size < maxShuttles)
+				launch();
+		}
+
+		//backwards, removing swaps the last shuttle in which has been moved already
+		for(int i = shuttles.size - 1; i >= 0; i--) {
+			Birdie shuttle = shuttles.get(i);
+			shuttle.previousPosition.set(shuttle.currentPosition);
+			if(shuttle.netFault && shuttle.t >= shuttle.netT) {
+				//caught by the net, nobody could have returned it
+				shuttles.removeIndex(i);
+				pool.free(shuttle);
+			} else if(shuttle.fly(delta)) {
+				if(shuttle.state == Birdie.STATE.HITBYOPPONENT)
+					missed++;
+				shuttles.removeIndex(i);
+				pool.free(shuttle);
+			}
+		}
+	}
+
+	void launch() {
+		float x = match.borders.min.x + 1.5f + match.random.nextFloat() * (match.borders.max.x - match.borders.min.x - 3);
+		float z = 1.5f + match.random.nextFloat() * (match.borders.max.z - 3);
+		launcher.position.set(x, 0, -z);
+
+		int randomAim = match.random.nextInt(0, 3);
+		if(randomAim == 0) launcher.aiming = Player.AIMING.LEFT;
+		if(randomAim == 1) launcher.aiming = Player.AIMING.RIGHT;
+		if(randomAim == 2) launcher.aiming = Player.AIMING.UPLEFT;
+		if(randomAim == 3) launcher.aiming = Player.AIMING.UPRIGHT;
+
+		Birdie shuttle = pool.obtain();
+		shuttle.currentPosition.set(launcher.position).add(-1.0f, 1, 0);
+		shuttle.previousPosition.set(shuttle.currentPosition);
+		shuttle.trajectoryPath.clear();
+		shuttle.hit(match, launcher, false);
+		shuttles.add(shuttle);
+		launched++;
+	}
+
+}
@@ -0,0 +1,47 @@
+package de.redlion.badminton.simulation;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+
+public class LocalMultiPlayerSimulation extends Simulation {
+
+	public LocalMultiPlayerSimulation(MatchContext match) {
+		super(match);
+	}
+
+	@Override
+	protected void collisionTest() {
+		if(birdie.state == Birdie.STATE.HELD) {
+			return;
+		}
+
+		// check if player is in aiming mode and could hit birdie
+		if (player.state == Player.STATE.AIMING
+				&& inReach(player, 4f)
+				&& birdie.state != Birdie.STATE.HIT) {
+			birdie.hit(match, player, false);
+				
+			player.switchState();
+			
+		}
+		
+		// check if player is in aiming mode and could hit birdie
+		if (opponent.state == Player.STATE.AIMING
+				&& inReach(opponent, 4f)
+				&& birdie.state != Birdie.STATE.HITBYOPPONENT) {
+			birdie.hit(match, opponent, false);
+			
+			opponent.switchState();
+		
+		}
+	}
+
+	@Override
+	protected void update(float delta) {
+		birdie.update(match, delta);
+		player.update(match, delta);
+		opponent.update(match, delta);
+	}
+
+}
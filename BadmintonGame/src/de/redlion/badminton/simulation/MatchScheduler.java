@@ -0,0 +1,87 @@
+package de.redlion.badminton.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Steps many independent matches on a pool of worker threads. Every match
+ * is only ever touched by one worker per step, so the game classes don't
+ * need any locking.
+ */
+public class MatchScheduler {
+
+	final ExecutorService executor;
+	final int threads;
+
+	final List<Simulation> simulations = new ArrayList<Simulation>();
+	final List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+
+	float delta;
+
+	public MatchScheduler(int threads) {
+		this.threads = threads;
+		this.executor = Executors.newFixedThreadPool(threads);
+		for(int i = 0; i < threads; i++) {
+			tasks.add(new Chunk(i));
+		}
+	}
+
+	public MatchScheduler() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public void add(Simulation simulation) {
+		simulations.add(simulation);
+	}
+
+	public void remove(Simulation simulation) {
+		simulations.remove(simulation);
+	}
+
+	public int size() {
+		return simulations.size();
+	}
+
+	/** advances all matches by one tick, returns when every match is done */
+	public void step(float delta) {
+		this.delta = delta;
+		try {
+			List<Future<Object>> results = executor.invokeAll(tasks);
+			for(Future<Object> result : results) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Match step failed", e.getCause());
+		}
+	}
+
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	/** steps every n-th match, n being the number of threads */
+	class Chunk implements Callable<Object> {
+
+		final int offset;
+
+		Chunk(int offset) {
+			this.offset = offset;
+		}
+
+		@Override
+		public Object call() {
+			for(int i = offset; i < simulations.size(); i += threads) {
+				simulations.get(i).step(delta);
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package de.redlion.badminton.simulation;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+
+public class NetworkMultiPlayerSimulation extends Simulation {
+
+	public NetworkMultiPlayerSimulation(MatchContext match) {
+		super(match);
+	}
+
+	@Override
+	protected void collisionTest() {
+		if(birdie.state == Birdie.STATE.HELD) {
+			return;
+		}
+
+		// check if player is in aiming mode and could hit birdie
+		if (player.state == Player.STATE.AIMING
+				&& inReach(player, 1.8f)
+				&& birdie.state != Birdie.STATE.HIT) {
+			birdie.state = Birdie.STATE.HIT;
+			birdie.hit(match, player, true);
+			
+			player.switchState();
+		}
+	}
+
+	@Override
+	protected void update(float delta) {
+		if (birdie.state == Birdie.STATE.HELD && player.position.dst(birdie.currentPosition) < 1.3f)
+			player.state = Player.STATE.AIMING;
+		player.update(match, delta);
+		birdie.update(match, delta);
+		opponent.update(match, delta);
+
+		if (inReach(opponent, 1.0f)
+				&& birdie.state != Birdie.STATE.HITBYOPPONENT) {
+			birdie.state = Birdie.STATE.HITBYOPPONENT;  //TODO quote-unquote to test movements
+			birdie.hit(match, opponent, false);
+			
+			opponent.switchState();
+		}
+	}
+
+}
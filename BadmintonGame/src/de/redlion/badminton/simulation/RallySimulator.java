@@ -0,0 +1,212 @@
+package de.redlion.badminton.simulation;
+
+import java.util.PriorityQueue;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Pool;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.AIOpponent;
+
+/**
+ * Plays whole rallies without stepping every tick. After every hit the
+ * interesting points of the new curve (net crossing, receiver gets the birdie
+ * within reach, landing) are solved once and put into a queue, the simulation
+ * then jumps from event to event. Uses the same Birdie.hit, score, net and
+ * reset rules as the game and the AI's own plan and aim. Needs a match set up
+ * with {@link MatchContext#newAIGame()}.
+ *
+ * The players move like in AIMatchSimulation, with the AI's steering and the
+ * kinematics of Player.update in closed form (AIOpponent.run). While the
+ * birdie is far from the receiver whole stretches of ticks are skipped, since
+ * the gap can't close faster than the birdie flies plus the receiver's
+ * Player.maxStep. Close to it the ticks are taken one by one with the swept
+ * hit test of the ticked game. RallyCheckMain compares the points each side
+ * wins with AIMatchSimulation.
+ */
+public class RallySimulator {
+
+	public enum EVENT {
+		NET, LAND, REACH;
+	}
+
+	static class Event implements Comparable<Event> {
+		EVENT type;
+		float t;
+		AIOpponent player;
+
+		@Override
+		public int compareTo(Event other) {
+			if(t != other.t)
+				return t < other.t ? -1 : 1;
+			return type.compareTo(other.type);
+		}
+	}
+
+	//guards against two players at the net hitting forever
+	static final int MAX_HITS = 1000;
+	//most ticks skipped at once, Player.maxStep is asked for this many
+	static final int MAX_SKIP = 15;
+
+	MatchContext match;
+	Birdie birdie;
+	//length of the ticks the players move in
+	final float delta;
+	final Vector3 birdieFrom = new Vector3();
+	final Vector3 birdieTo = new Vector3();
+	final Vector3 runnerFrom = new Vector3();
+
+	public int rallies = 0;
+	public int hits = 0;
+	public int netCrossings = 0;
+	public int netFaults = 0;
+
+	final PriorityQueue<Event> queue = new PriorityQueue<Event>();
+	final Pool<Event> events = new Pool<Event>() {
+		@Override
+		protected Event newObject() {
+			return new Event();
+		}
+	};
+
+	public RallySimulator(MatchContext match, float delta) {
+		this.match = match;
+		this.birdie = match.birdie;
+		this.delta = delta;
+
+		//in the server's hand like Birdie.update keeps it, after a point reset() puts it there
+		if(birdie.state == Birdie.STATE.HELD) {
+			Player server = match.player.service ? match.player : match.opponent;
+			birdie.currentPosition.set(server.position).add(-1.0f, 1, 0);
+		}
+	}
+
+	public RallySimulator(MatchContext match) {
+		this(match, 1.0f / 60);
+	}
+
+	/** plays one rally from the serve to the point, returns the number of hits */
+	public int playRally() {
+		AIOpponent hitter = (AIOpponent) (match.player.service ? match.player : match.opponent);
+
+		int rallyHits = 0;
+		while(true) {
+			hit(hitter);
+			rallyHits++;
+
+			Event event = queue.poll();
+			while(event.type == EVENT.NET && !birdie.netFault) {
+				netCrossings++;
+				events.free(event);
+				event = queue.poll();
+			}
+			clear();
+
+			if(event.type == EVENT.NET) {
+				netFaults++;
+				birdie.hitNet(match);
+				events.free(event);
+				break;
+			}
+
+			if(event.type == EVENT.LAND || rallyHits >= MAX_HITS) {
+				birdie.state = Birdie.STATE.NONHIT;
+				birdie.currentPosition.set(birdie.landingPoint);
+				birdie.score(match);
+				birdie.reset(match);
+				events.free(event);
+				break;
+			}
+
+			birdie.trajectory.position(event.t, birdie.currentPosition);
+			hitter = event.player;
+			events.free(event);
+		}
+
+		rallies++;
+		hits += rallyHits;
+		return rallyHits;
+	}
+
+	public void play(int count) {
+		for(int i = 0; i < count; i++) {
+			playRally();
+		}
+	}
+
+	void hit(AIOpponent hitter) {
+		hitter.aim(match);
+		birdie.hit(match, hitter, false);
+
+		float landingT = birdie.trajectory.groundCrossing();
+		if(landingT < 0)
+			landingT = 1;
+		schedule(EVENT.LAND, landingT, null);
+
+		if(birdie.netT >= 0)
+			schedule(EVENT.NET, birdie.netT, null);
+
+		AIOpponent receiver = (AIOpponent) (hitter == match.player ? match.opponent : match.player);
+		receiver.plan(match);
+		hitter.plan(match);
+		float reachT = chase(receiver, hitter, birdie.netFault ? birdie.netT : landingT);
+		if(reachT >= 0)
+			schedule(EVENT.REACH, reachT, receiver);
+	}
+
+	Event schedule(EVENT type, float t, AIOpponent player) {
+		Event event = events.obtain();
+		event.type = type;
+		event.t = t;
+		event.player = player;
+		queue.add(event);
+		return event;
+	}
+
+	/**
+	 * Moves both players to their targets until the birdie comes within reach of the receiver or
+	 * the flight ends at curve parameter endT. The birdie is where AIMatchSimulation has it after
+	 * every tick: still at the hit in the first one, then one step further along the curve each.
+	 * @return curve parameter of the hit, -1 if the birdie never comes close enough
+	 */
+	float chase(AIOpponent receiver, AIOpponent hitter, float endT) {
+		float step = delta * birdie.acceleration * birdie.speed;
+		int ticks = (int) (birdie.trajectory.lengthAt(endT) / step) + 1;
+
+		int tick = 0;
+		birdieTo.set(birdie.currentPosition);
+		while(tick < ticks) {
+			//nothing can happen in the ticks it takes to close the gap at full speed
+			float gap = birdieTo.dst(receiver.position) - AIOpponent.REACH;
+			int skip = gap <= 0 ? 0 : (int) (gap / (step + receiver.maxStep(delta, MAX_SKIP)));
+			skip = Math.min(Math.min(skip, MAX_SKIP), ticks - tick);
+			if(skip > 0) {
+				receiver.run(match, skip, delta);
+				hitter.run(match, skip, delta);
+				tick += skip;
+				birdie.trajectory.position(birdie.trajectory.parameterAt((tick - 1) * step), birdieTo);
+				continue;
+			}
+
+			birdieFrom.set(birdieTo);
+			runnerFrom.set(receiver.position);
+			receiver.run(match, 1, delta);
+			hitter.run(match, 1, delta);
+			tick++;
+			float t = birdie.trajectory.parameterAt((tick - 1) * step);
+			birdie.trajectory.position(t, birdieTo);
+			if(SweptCollision.hits(birdieFrom, birdieTo, runnerFrom, receiver.position, AIOpponent.REACH))
+				return t;
+		}
+		return -1;
+	}
+
+	void clear() {
+		while(!queue.isEmpty()) {
+			events.free(queue.poll());
+		}
+	}
+
+}
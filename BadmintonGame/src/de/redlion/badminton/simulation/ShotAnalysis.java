@@ -0,0 +1,192 @@
+package de.redlion.badminton.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.math.Vector3;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.MatchRandom;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.AIOpponent;
+
+/**
+ * Monte Carlo statistics of the shots Birdie.hit produces. For every side and
+ * aim it hits from random spots of the hitter's half, takes the predicted
+ * landing point and scores it with Birdie.score. Shots caught by the net are
+ * counted apart and don't show up in the heatmap. A shot counts as won if it
+ * scores and a receiver starting from a random spot of the other half can't
+ * run to intercept it before it lands, the same way the AI looks for its hit
+ * with AIOpponent.intercept.
+ */
+public class ShotAnalysis {
+
+	static final Player.AIMING[] AIMINGS = Player.AIMING.values();
+
+	public static final int SIDES = Player.SIDE.values().length;
+	public static final int AIMS = AIMINGS.length;
+
+	public final int cellsX;
+	public final int cellsZ;
+	final float minX;
+	final float minZ;
+	final float cellSize;
+
+	//[side][aim]
+	public final long[][] shots = new long[SIDES][AIMS];
+	public final long[][] in = new long[SIDES][AIMS];
+	public final long[][] won = new long[SIDES][AIMS];
+	public final long[][] net = new long[SIDES][AIMS];
+	//[side][aim][z * cellsX + x], landings per court cell
+	public final long[][][] heatmap;
+
+	public float seconds = 0;
+
+	public ShotAnalysis(float cellSize) {
+		MatchContext match = new MatchContext();
+		this.cellSize = cellSize;
+		minX = match.borders.min.x;
+		minZ = match.borders.min.z;
+		cellsX = (int) Math.ceil((match.borders.max.x - minX) / cellSize);
+		cellsZ = (int) Math.ceil((match.borders.max.z - minZ) / cellSize);
+		heatmap = new long[SIDES][AIMS][cellsX * cellsZ];
+	}
+
+	/** hits shotsPerAim shots for every side and aim, split over the given number of threads */
+	public void run(long shotsPerAim, long seed, int threads) {
+		long start = System.nanoTime();
+
+		MatchRandom seeds = new MatchRandom(seed);
+		List<Worker> workers = new ArrayList<Worker>();
+		for(int i = 0; i < threads; i++) {
+			long count = shotsPerAim / threads + (i < shotsPerAim % threads ? 1 : 0);
+			workers.add(new Worker(count, seeds.split()));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<ShotAnalysis>> results = executor.invokeAll(workers);
+			for(Future<ShotAnalysis> result : results) {
+				add(result.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Shot analysis failed", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+
+		seconds += (System.nanoTime() - start) / 1000000000f;
+	}
+
+	public float inRatio(int side, int aim) {
+		return shots[side][aim] == 0 ? 0 : in[side][aim] / (float) shots[side][aim];
+	}
+
+	public float netRatio(int side, int aim) {
+		return shots[side][aim] == 0 ? 0 : net[side][aim] / (float) shots[side][aim];
+	}
+
+	public float winRate(int side, int aim) {
+		return shots[side][aim] == 0 ? 0 : won[side][aim] / (float) shots[side][aim];
+	}
+
+	/** x or z of the center of a heatmap cell */
+	public float cellX(int x) {
+		return minX + (x + 0.5f) * cellSize;
+	}
+
+	public float cellZ(int z) {
+		return minZ + (z + 0.5f) * cellSize;
+	}
+
+	void add(ShotAnalysis other) {
+		for(int side = 0; side < SIDES; side++) {
+			for(int aim = 0; aim < AIMS; aim++) {
+				shots[side][aim] += other.shots[side][aim];
+				in[side][aim] += other.in[side][aim];
+				won[side][aim] += other.won[side][aim];
+				net[side][aim] += other.net[side][aim];
+				long[] cells = heatmap[side][aim];
+				long[] otherCells = other.heatmap[side][aim];
+				for(int i = 0; i < cells.length; i++) {
+					cells[i] += otherCells[i];
+				}
+			}
+		}
+	}
+
+	int cell(float x, float z) {
+		int cx = Math.min(cellsX - 1, Math.max(0, (int) ((x - minX) / cellSize)));
+		int cz = Math.min(cellsZ - 1, Math.max(0, (int) ((z - minZ) / cellSize)));
+		return cz * cellsX + cx;
+	}
+
+	/** hits its share of the shots on its own match and counts them into its own tables */
+	class Worker implements Callable<ShotAnalysis> {
+
+		final long count;
+		final MatchContext match = new MatchContext();
+		final Vector3 target = new Vector3();
+
+		Worker(long count, MatchRandom random) {
+			this.count = count;
+			match.newAIGame();
+			match.random = random;
+		}
+
+		@Override
+		public ShotAnalysis call() {
+			ShotAnalysis tally = new ShotAnalysis(cellSize);
+			Birdie birdie = match.birdie;
+			for(int side = 0; side < SIDES; side++) {
+				Player hitter = side == Player.SIDE.BOTTOM.ordinal() ? match.player : match.opponent;
+				Player receiver = hitter == match.player ? match.opponent : match.player;
+				for(int aim = 0; aim < AIMS; aim++) {
+					for(long i = 0; i < count; i++) {
+						place(hitter);
+						place(receiver);
+						hitter.aiming = AIMINGS[aim];
+						birdie.currentPosition.set(hitter.position).add(-1.0f, 1, 0);
+						birdie.hit(match, hitter, false);
+
+						tally.shots[side][aim]++;
+						if(birdie.netFault) {
+							tally.net[side][aim]++;
+							continue;
+						}
+						tally.heatmap[side][aim][tally.cell(birdie.landingPoint.x, birdie.landingPoint.z)]++;
+
+						match.playerScore = 0;
+						match.opponentScore = 0;
+						birdie.currentPosition.set(birdie.landingPoint);
+						birdie.score(match);
+						boolean scored = hitter == match.player ? match.playerScore > 0 : match.opponentScore > 0;
+						if(!scored)
+							continue;
+						tally.in[side][aim]++;
+
+						if(AIOpponent.intercept(match, receiver.side, birdie, receiver.position, target) < 0)
+							tally.won[side][aim]++;
+					}
+				}
+			}
+			return tally;
+		}
+
+		/** random spot in the player's half, inside the limits Player.update keeps it in */
+		void place(Player player) {
+			float x = match.borders.min.x + 1.5f + match.random.nextFloat() * (match.borders.max.x - match.borders.min.x - 3);
+			float z = 1.5f + match.random.nextFloat() * (match.borders.max.z - 3);
+			player.position.set(x, 0, player.side == Player.SIDE.TOP ? -z : z);
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package de.redlion.badminton.simulation;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import de.redlion.badminton.Birdie;
+
+/**
+ * Uniform grid over the court for finding the shuttles near a point without
+ * checking all of them. Rebuilt from scratch with a counting sort whenever
+ * the shuttles moved, neither building nor querying allocates once the
+ * arrays are big enough. Shuttles outside the court go into the border cells.
+ */
+public class ShuttleGrid {
+
+	final float minX;
+	final float minZ;
+	final float cellSize;
+	final int cellsX;
+	final int cellsZ;
+
+	//shuttles of cell c are items[cellStart[c]] until items[cellStart[c + 1]] exclusive
+	final int[] cellStart;
+	int[] cellOf = new int[0];
+	int[] items = new int[0];
+
+	public ShuttleGrid(BoundingBox borders, float cellSize) {
+		this.cellSize = cellSize;
+		minX = borders.min.x;
+		minZ = borders.min.z;
+		cellsX = Math.max(1, (int) Math.ceil((borders.max.x - minX) / cellSize));
+		cellsZ = Math.max(1, (int) Math.ceil((borders.max.z - minZ) / cellSize));
+		cellStart = new int[cellsX * cellsZ + 1];
+	}
+
+	public void build(Array<Birdie> shuttles) {
+		int count = shuttles.size;
+		if(items.length < count) {
+			items = new int[count * 2];
+			cellOf = new int[count * 2];
+		}
+
+		for(int c = 0; c < cellStart.length; c++) {
+			cellStart[c] = 0;
+		}
+		for(int i = 0; i < count; i++) {
+			Vector3 position = shuttles.get(i).currentPosition;
+			int c = cellZ(position.z) * cellsX + cellX(position.x);
+			cellOf[i] = c;
+			cellStart[c]++;
+		}
+		//running sum, cellStart[c] is the end of cell c now
+		for(int c = 1; c < cellStart.length; c++) {
+			cellStart[c] += cellStart[c - 1];
+		}
+		//filling back to front moves cellStart[c] to the start of cell c
+		for(int i = count - 1; i >= 0; i--) {
+			items[--cellStart[cellOf[i]]] = i;
+		}
+	}
+
+	/**
+	 * Adds the indices of all shuttles in the cells that overlap the square of the given
+	 * radius around the position. Candidates only, the caller does the exact distance test.
+	 */
+	public void query(Vector3 position, float radius, IntArray out) {
+		int fromX = cellX(position.x - radius);
+		int toX = cellX(position.x + radius);
+		int fromZ = cellZ(position.z - radius);
+		int toZ = cellZ(position.z + radius);
+		for(int z = fromZ; z <= toZ; z++) {
+			for(int x = fromX; x <= toX; x++) {
+				int c = z * cellsX + x;
+				for(int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+					out.add(items[i]);
+				}
+			}
+		}
+	}
+
+	int cellX(float x) {
+		return Math.min(cellsX - 1, Math.max(0, (int) Math.floor((x - minX) / cellSize)));
+	}
+
+	int cellZ(float z) {
+		return Math.min(cellsZ - 1, Math.max(0, (int) Math.floor((z - minZ) / cellSize)));
+	}
+
+}
@@ -0,0 +1,43 @@
+package de.redlion.badminton.simulation;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.Opponent;
+
+/**
+ * Game rules of one match, driven by an explicit tick delta. Doesn't touch
+ * the Gdx runtime, so it runs the same inside a screen or headless.
+ */
+public abstract class Simulation {
+
+	protected MatchContext match;
+
+	protected Player player;
+	protected Opponent opponent;
+	protected Birdie birdie;
+
+	public Simulation(MatchContext match) {
+		this.match = match;
+		this.player = match.player;
+		this.opponent = match.opponent;
+		this.birdie = match.birdie;
+	}
+
+	/** advances the match by one tick of delta seconds */
+	public void step(float delta) {
+		collisionTest();
+		update(delta);
+	}
+
+	/** true if the birdie passed within reach of the player during the last tick */
+	protected boolean inReach(Player player, float reach) {
+		return SweptCollision.hits(birdie.previousPosition, birdie.currentPosition,
+				player.previousPosition, player.position, reach);
+	}
+
+	protected abstract void collisionTest();
+
+	protected abstract void update(float delta);
+
+}
@@ -0,0 +1,14 @@
+package de.redlion.badminton.simulation;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.Player;
+
+/**
+ * Gets notified about things happening in the simulation, so the core doesn't
+ * have to know about logging or sound.
+ */
+public interface SimulationListener {
+
+	public void hit(Player player, Birdie birdie);
+
+}
@@ -0,0 +1,50 @@
+package de.redlion.badminton.simulation;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.AIOpponent;
+
+public class SinglePlayerSimulation extends Simulation {
+
+	AIOpponent ai;
+
+	public SinglePlayerSimulation(MatchContext match) {
+		super(match);
+		ai = (AIOpponent) opponent;
+	}
+
+	@Override
+	protected void collisionTest() {
+		if(birdie.state == Birdie.STATE.HELD) {
+			return;
+		}
+
+		// check if player is in aiming mode and could hit birdie
+		if (player.state == Player.STATE.AIMING
+				&& inReach(player, 4.0f)
+				&& birdie.state != Birdie.STATE.HIT) {
+			birdie.hit(match, player, false);
+			
+			player.switchState();
+		}
+	}
+
+	@Override
+	protected void update(float delta) {
+		player.update(match, delta);
+		birdie.update(match, delta);
+		ai.update(match, delta, player.position);
+
+		if (inReach(ai, 4.0f)
+				&& birdie.state != Birdie.STATE.HITBYOPPONENT) {
+
+			ai.aim(match);
+			
+			birdie.hit(match, ai,false);
+			
+			ai.switchState();
+		}
+	}
+
+}
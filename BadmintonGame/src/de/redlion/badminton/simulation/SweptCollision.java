@@ -0,0 +1,73 @@
+package de.redlion.badminton.simulation;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Hit test between the birdie and a player's reach that doesn't depend on the
+ * tick rate. The birdie moves on the segment between two consecutive samples
+ * of its curve, the player's reach is a capsule around the segment it walked
+ * in the same tick. They touch when the two segments come closer than the reach.
+ * Works on plain floats, so it is safe to use from several simulation threads.
+ */
+public final class SweptCollision {
+
+	static final float EPSILON = 1e-8f;
+
+	private SweptCollision() {
+	}
+
+	/** true if the segment birdieFrom-birdieTo passes within reach of the segment playerFrom-playerTo */
+	public static boolean hits(Vector3 birdieFrom, Vector3 birdieTo, Vector3 playerFrom, Vector3 playerTo, float reach) {
+		return distance2(birdieFrom, birdieTo, playerFrom, playerTo) < reach * reach;
+	}
+
+	/** squared distance between the closest points of the segments p1-q1 and p2-q2 */
+	public static float distance2(Vector3 p1, Vector3 q1, Vector3 p2, Vector3 q2) {
+		float d1x = q1.x - p1.x, d1y = q1.y - p1.y, d1z = q1.z - p1.z;
+		float d2x = q2.x - p2.x, d2y = q2.y - p2.y, d2z = q2.z - p2.z;
+		float rx = p1.x - p2.x, ry = p1.y - p2.y, rz = p1.z - p2.z;
+
+		float a = d1x * d1x + d1y * d1y + d1z * d1z;
+		float e = d2x * d2x + d2y * d2y + d2z * d2z;
+		float f = d2x * rx + d2y * ry + d2z * rz;
+
+		float s;
+		float t;
+		if(a <= EPSILON && e <= EPSILON) {
+			s = 0;
+			t = 0;
+		} else if(a <= EPSILON) {
+			s = 0;
+			t = clamp(f / e);
+		} else {
+			float c = d1x * rx + d1y * ry + d1z * rz;
+			if(e <= EPSILON) {
+				t = 0;
+				s = clamp(-c / a);
+			} else {
+				float b = d1x * d2x + d1y * d2y + d1z * d2z;
+				float denom = a * e - b * b;
+				//parallel segments have no unique closest pair, any s works
+				s = denom > EPSILON ? clamp((b * f - c * e) / denom) : 0;
+				t = (b * s + f) / e;
+				if(t < 0) {
+					t = 0;
+					s = clamp(-c / a);
+				} else if(t > 1) {
+					t = 1;
+					s = clamp((b - c) / a);
+				}
+			}
+		}
+
+		float dx = (p1.x + d1x * s) - (p2.x + d2x * t);
+		float dy = (p1.y + d1y * s) - (p2.y + d2y * t);
+		float dz = (p1.z + d1z * s) - (p2.z + d2z * t);
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	static float clamp(float value) {
+		return value < 0 ? 0 : (value > 1 ? 1 : value);
+	}
+
+}
@@ -0,0 +1,185 @@
+package de.redlion.badminton.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.MatchRandom;
+import de.redlion.badminton.opponent.AIOpponent;
+
+/**
+ * Round robin between AIOpponent variants. Every pairing plays the given number
+ * of matches with the sides swapped every other match, each match runs on its
+ * own worker thread through AIMatchSimulation. The seeds of the matches are
+ * split from the tournament seed in schedule order and the Elo ratings are
+ * updated in the same order once all matches are done, so a seed always gives
+ * the same results no matter how many threads there are. A match nobody has
+ * won after maxTicks is a draw whatever the score, so endless rallies can't
+ * hold up a run or decide it. Entrants must not
+ * depend on wall clock time, a ShotSearch needs an unlimited budget and a
+ * maxDepth.
+ */
+public class Tournament {
+
+	static final float INITIAL_RATING = 1500;
+	static final float K = 16;
+
+	/** one variant of the AI, sets up a fresh AIOpponent for every match */
+	public static abstract class Entrant {
+		public final String name;
+		public float rating = INITIAL_RATING;
+		public int wins, losses, draws;
+		public long pointsWon, pointsLost;
+
+		public Entrant(String name) {
+			this.name = name;
+		}
+
+		public abstract void prepare(AIOpponent ai);
+	}
+
+	/** one match, bottom against top */
+	class Match implements Callable<Match> {
+		final Entrant bottom;
+		final Entrant top;
+		final long seed;
+
+		int bottomScore, topScore;
+		int hits;
+		boolean timeout;
+
+		Match(Entrant bottom, Entrant top, long seed) {
+			this.bottom = bottom;
+			this.top = top;
+			this.seed = seed;
+		}
+
+		@Override
+		public Match call() {
+			MatchContext match = new MatchContext();
+			match.newAIGame();
+			match.random = new MatchRandom(seed);
+			bottom.prepare((AIOpponent) match.player);
+			top.prepare((AIOpponent) match.opponent);
+
+			AIMatchSimulation simulation = new AIMatchSimulation(match);
+			timeout = true;
+			for(int tick = 0; tick < maxTicks && timeout; tick++) {
+				simulation.step(delta);
+				timeout = match.playerScore < points && match.opponentScore < points;
+			}
+			bottomScore = match.playerScore;
+			topScore = match.opponentScore;
+			hits = match.birdie.flight;
+			return this;
+		}
+	}
+
+	public final List<Entrant> entrants = new ArrayList<Entrant>();
+
+	//a match ends at this many points, or as a draw after maxTicks
+	public int points = 21;
+	public float delta = 1.0f / 60;
+	public int maxTicks = 60 * 60 * 5;
+
+	//statistics of the last run
+	public int matches = 0;
+	public int draws = 0;
+	public int timeouts = 0;
+	public long totalPoints = 0;
+	public long totalHits = 0;
+	public float seconds = 0;
+
+	public void add(Entrant entrant) {
+		entrants.add(entrant);
+	}
+
+	/** plays gamesPerPairing matches between every two entrants */
+	public void run(int gamesPerPairing, long seed, int threads) {
+		long start = System.nanoTime();
+
+		MatchRandom seeds = new MatchRandom(seed);
+		List<Match> schedule = new ArrayList<Match>();
+		for(int i = 0; i < entrants.size(); i++) {
+			for(int j = i + 1; j < entrants.size(); j++) {
+				for(int game = 0; game < gamesPerPairing; game++) {
+					Entrant a = entrants.get(i);
+					Entrant b = entrants.get(j);
+					long matchSeed = seeds.nextLong();
+					schedule.add(game % 2 == 0 ? new Match(a, b, matchSeed) : new Match(b, a, matchSeed));
+				}
+			}
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Match>> results = executor.invokeAll(schedule);
+			for(Future<Match> result : results) {
+				rate(result.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Tournament match failed", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+
+		seconds = (System.nanoTime() - start) / 1000000000f;
+	}
+
+	void rate(Match match) {
+		Entrant bottom = match.bottom;
+		Entrant top = match.top;
+		float score;
+		if(match.timeout || match.bottomScore == match.topScore) {
+			score = 0.5f;
+			bottom.draws++;
+			top.draws++;
+			draws++;
+			if(match.timeout)
+				timeouts++;
+		} else if(match.bottomScore > match.topScore) {
+			score = 1;
+			bottom.wins++;
+			top.losses++;
+		} else {
+			score = 0;
+			bottom.losses++;
+			top.wins++;
+		}
+
+		float expected = 1 / (1 + (float) Math.pow(10, (top.rating - bottom.rating) / 400));
+		bottom.rating += K * (score - expected);
+		top.rating -= K * (score - expected);
+
+		bottom.pointsWon += match.bottomScore;
+		bottom.pointsLost += match.topScore;
+		top.pointsWon += match.topScore;
+		top.pointsLost += match.bottomScore;
+
+		matches++;
+		totalPoints += match.bottomScore + match.topScore;
+		totalHits += match.hits;
+	}
+
+	/** share of the matches that ended in a draw */
+	public float drawShare() {
+		return matches == 0 ? 0 : draws / (float) matches;
+	}
+
+	/** hits per point over all matches */
+	public float averageRallyLength() {
+		return totalPoints == 0 ? 0 : totalHits / (float) totalPoints;
+	}
+
+	public float matchesPerSecond() {
+		return seconds == 0 ? 0 : matches / seconds;
+	}
+
+}
@@ -0,0 +1,192 @@
+package de.redlion.badminton.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.redlion.badminton.Birdie;
+import de.redlion.badminton.MatchContext;
+import de.redlion.badminton.MatchRandom;
+import de.redlion.badminton.Player;
+import de.redlion.badminton.opponent.AIOpponent;
+import de.redlion.badminton.opponent.PolicyTable;
+
+/**
+ * Many independent single player matches behind a gym style interface, for
+ * training opponents offline. The bottom player of every match is the agent,
+ * the top is the AIOpponent. step() takes one action per match, advances all
+ * of them by one tick on a thread pool and fills the observation, reward and
+ * done arrays. A match that is done starts over on its own, so the arrays
+ * always describe running episodes. Needs no Gdx context.
+ *
+ * Actions: 0 to 8 move like the Player.STATE of that ordinal, 9 to 17 aim
+ * like the Player.AIMING of the action - 9, which also serves if the agent
+ * holds the birdie.
+ *
+ * Observation of a match, OBSERVATIONS floats from match * OBSERVATIONS:
+ * agent x, z, velocity x, z, opponent x, z, birdie x, y, z, landing x, z,
+ * seconds to landing, 1 if the birdie comes towards the agent, 1 if the
+ * agent has to serve.
+ */
+public class VectorEnvironment {
+
+	public static final int OBSERVATIONS = 14;
+	public static final int ACTIONS = 18;
+
+	static final Player.STATE[] STATES = Player.STATE.values();
+	static final Player.AIMING[] AIMINGS = Player.AIMING.values();
+
+	public final int size;
+	final int threads;
+	final ExecutorService executor;
+	final List<Chunk> chunks = new ArrayList<Chunk>();
+
+	final MatchContext[] matches;
+	final SinglePlayerSimulation[] simulations;
+	final int[] steps;
+
+	public final float[] observations;
+	public final float[] rewards;
+	public final boolean[] dones;
+
+	//an episode ends when one side has this many points or after maxSteps ticks
+	public int pointsPerEpisode = 21;
+	public int maxSteps = 60 * 60 * 10;
+	public float delta = 1.0f / 60;
+	//aims of the AI, random if null
+	public PolicyTable policy;
+
+	int[] actions;
+
+	public VectorEnvironment(int size, int threads) {
+		this.size = size;
+		this.threads = threads;
+		matches = new MatchContext[size];
+		simulations = new SinglePlayerSimulation[size];
+		steps = new int[size];
+		observations = new float[size * OBSERVATIONS];
+		rewards = new float[size];
+		dones = new boolean[size];
+
+		executor = Executors.newFixedThreadPool(threads);
+		int chunkSize = (size + threads - 1) / threads;
+		for(int from = 0; from < size; from += chunkSize) {
+			chunks.add(new Chunk(from, Math.min(size, from + chunkSize)));
+		}
+	}
+
+	public VectorEnvironment(int size) {
+		this(size, Runtime.getRuntime().availableProcessors());
+	}
+
+	/** starts a new episode in every match, the seeds of the matches are split from seed */
+	public float[] reset(long seed) {
+		MatchRandom seeds = new MatchRandom(seed);
+		for(int i = 0; i < size; i++) {
+			start(i, seeds.split());
+			observe(i);
+			rewards[i] = 0;
+			dones[i] = false;
+		}
+		return observations;
+	}
+
+	/** applies one action per match and advances every match by one tick */
+	public void step(int[] actions) {
+		this.actions = actions;
+		try {
+			List<Future<Object>> results = executor.invokeAll(chunks);
+			for(Future<Object> result : results) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Environment step failed", e.getCause());
+		}
+	}
+
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	void start(int i, MatchRandom random) {
+		MatchContext match = new MatchContext();
+		match.newSinglePlayerGame();
+		match.random = random;
+		((AIOpponent) match.opponent).policy = policy;
+		matches[i] = match;
+		simulations[i] = new SinglePlayerSimulation(match);
+		steps[i] = 0;
+	}
+
+	void step(int i, int action) {
+		MatchContext match = matches[i];
+		Player agent = match.player;
+		if(action < STATES.length - 1) {
+			agent.state = STATES[action];
+		} else {
+			agent.aiming = AIMINGS[action - (STATES.length - 1)];
+			agent.state = Player.STATE.AIMING;
+			if(agent.service && match.birdie.state == Birdie.STATE.HELD)
+				match.birdie.hit(match, agent, false);
+		}
+
+		int agentScore = match.playerScore;
+		int opponentScore = match.opponentScore;
+		simulations[i].step(delta);
+		steps[i]++;
+		rewards[i] = (match.playerScore - agentScore) - (match.opponentScore - opponentScore);
+
+		dones[i] = match.playerScore >= pointsPerEpisode || match.opponentScore >= pointsPerEpisode || steps[i] >= maxSteps;
+		if(dones[i])
+			start(i, match.random);
+		observe(i);
+	}
+
+	void observe(int i) {
+		MatchContext match = matches[i];
+		Player agent = match.player;
+		Birdie birdie = match.birdie;
+		int o = i * OBSERVATIONS;
+		observations[o] = agent.position.x;
+		observations[o + 1] = agent.position.z;
+		observations[o + 2] = agent.velocity.x;
+		observations[o + 3] = agent.velocity.z;
+		observations[o + 4] = match.opponent.position.x;
+		observations[o + 5] = match.opponent.position.z;
+		observations[o + 6] = birdie.currentPosition.x;
+		observations[o + 7] = birdie.currentPosition.y;
+		observations[o + 8] = birdie.currentPosition.z;
+		observations[o + 9] = birdie.landingPoint.x;
+		observations[o + 10] = birdie.landingPoint.z;
+		observations[o + 11] = birdie.timeToLand();
+		observations[o + 12] = birdie.state == Birdie.STATE.HITBYOPPONENT ? 1 : 0;
+		observations[o + 13] = agent.service && birdie.state == Birdie.STATE.HELD ? 1 : 0;
+	}
+
+	/** a contiguous range of matches */
+	class Chunk implements Callable<Object> {
+
+		final int from;
+		final int to;
+
+		Chunk(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Object call() {
+			for(int i = from; i < to; i++) {
+				step(i, actions[i]);
+			}
+			return null;
+		}
+	}
+
+}